@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+JAR="${ROOT_DIR}/target/financial-analysis-1.0.0.jar"
+ARCHIVE="${ROOT_DIR}/target/financial-analysis-1.0.0.jsa"
+
+if [[ ! -f "${JAR}" ]]; then
+  echo "Missing ${JAR}; build it with: mvn -Pappcds package" >&2
+  exit 1
+fi
+
+JAVA_OPTS=(-Xshare:auto)
+if [[ -f "${ARCHIVE}" ]]; then
+  JAVA_OPTS+=("-XX:SharedArchiveFile=${ARCHIVE}")
+fi
+
+exec java "${JAVA_OPTS[@]}" -jar "${JAR}" "$@"
@@ -1,15 +1,30 @@
 package com.example.finance;
 
+import com.example.finance.io.CsvDialect;
+
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 public record CliOptions(Path csvPath, double threshold, int previewLimit, String hamSpamPath,
-                         Path exportDir, String currency) {
+                         Path exportDir, String currency, CsvDialect csvDialect, Path quarantinePath,
+                         Path keystorePath, String keyAlias,
+                         Path auditLogPath, int threads, String outputMode, long sampleSeed,
+                         String stratifyBy, String ledgerCurrency, Path fxRatesPath, String fxBaseCurrency,
+                         String tenant, long tenantBudgetBytes, Path rolesDir, Set<String> reports,
+                         boolean startupTiming) {
     private static final double DEFAULT_THRESHOLD = 500.0;
     private static final int DEFAULT_LIMIT = 5;
     private static final String DEFAULT_HAM_SPAM_PATH = "path/to/dataset";
     private static final String DEFAULT_CURRENCY = "USD";
+    private static final String DEFAULT_KEY_ALIAS = "finance";
+    private static final String DEFAULT_OUTPUT_MODE = "text";
+    private static final long DEFAULT_SAMPLE_SEED = 42L;
+    private static final String DEFAULT_STRATIFY_BY = "category";
+    private static final String DEFAULT_TENANT = "default";
+    private static final String DEFAULT_ROLES_DIR = "config/tenants";
 
     public static CliOptions parse(String[] args) {
         Map<String, String> parsed = new HashMap<>();
@@ -34,7 +49,46 @@ public record CliOptions(Path csvPath, double threshold, int previewLimit, Strin
                 ? Path.of(parsed.get("--export-dir"))
                 : Path.of("out");
         String currency = parsed.getOrDefault("--currency", DEFAULT_CURRENCY);
+        CsvDialect csvDialect = CsvDialect.of(parsed.get("--delimiter"), parsed.get("--escape"));
+        Path quarantinePath = parsed.containsKey("--quarantine")
+                ? Path.of(parsed.get("--quarantine"))
+                : exportDir.resolve("quarantine.csv");
+        Path keystorePath = parsed.containsKey("--keystore")
+                ? Path.of(parsed.get("--keystore"))
+                : null;
+        String keyAlias = parsed.getOrDefault("--key-alias", DEFAULT_KEY_ALIAS);
+        Path auditLogPath = parsed.containsKey("--audit-log")
+                ? Path.of(parsed.get("--audit-log"))
+                : exportDir.resolve("audit.log");
+        int threads = parsed.containsKey("--threads")
+                ? Integer.parseInt(parsed.get("--threads"))
+                : Runtime.getRuntime().availableProcessors();
+        String outputMode = parsed.getOrDefault("--output", DEFAULT_OUTPUT_MODE);
+        long sampleSeed = parsed.containsKey("--sample-seed")
+                ? Long.parseLong(parsed.get("--sample-seed"))
+                : DEFAULT_SAMPLE_SEED;
+        String stratifyBy = parsed.getOrDefault("--stratify", DEFAULT_STRATIFY_BY);
+        String ledgerCurrency = parsed.getOrDefault("--ledger-currency", currency);
+        Path fxRatesPath = parsed.containsKey("--fx-rates")
+                ? Path.of(parsed.get("--fx-rates"))
+                : null;
+        String fxBaseCurrency = parsed.getOrDefault("--fx-base", DEFAULT_CURRENCY);
+        String tenant = parsed.getOrDefault("--tenant", DEFAULT_TENANT);
+        long tenantBudgetBytes = parsed.containsKey("--tenant-budget-mb")
+                ? Long.parseLong(parsed.get("--tenant-budget-mb")) * 1024 * 1024
+                : Runtime.getRuntime().maxMemory() / 2;
+        Path rolesDir = Path.of(parsed.getOrDefault("--roles-dir", DEFAULT_ROLES_DIR));
+        Set<String> reports = new LinkedHashSet<>();
+        for (String report : parsed.getOrDefault("--reports", "").split(",")) {
+            if (!report.isBlank()) {
+                reports.add(report.trim());
+            }
+        }
+        boolean startupTiming = Boolean.parseBoolean(parsed.getOrDefault("--startup-timing", "false"));
 
-        return new CliOptions(csvPath, threshold, limit, hamSpamPath, exportDir, currency);
+        return new CliOptions(csvPath, threshold, limit, hamSpamPath, exportDir, currency,
+                csvDialect, quarantinePath, keystorePath, keyAlias, auditLogPath, threads, outputMode, sampleSeed,
+                stratifyBy, ledgerCurrency, fxRatesPath, fxBaseCurrency, tenant, tenantBudgetBytes, rolesDir,
+                Set.copyOf(reports), startupTiming);
     }
 }
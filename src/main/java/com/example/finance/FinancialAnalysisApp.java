@@ -1,71 +1,175 @@
 package com.example.finance;
 
+import com.example.finance.analysis.BalanceReconciliationService;
 import com.example.finance.analysis.FinancialDataFrame;
 import com.example.finance.analysis.ForecastService;
 import com.example.finance.analysis.InsightsService;
 import com.example.finance.analysis.RiskService;
 import com.example.finance.analysis.ReportService;
+import com.example.finance.analysis.SamplingService;
 import com.example.finance.analysis.SummaryExportService;
 import com.example.finance.analysis.VisualizationService;
+import com.example.finance.audit.AuditLog;
+import com.example.finance.crypto.LocalKeyStore;
 import com.example.finance.dataset.HamOrSpamDatasetReader;
+import com.example.finance.fx.FxRateTable;
+import com.example.finance.io.CsvQuarantine;
 import com.example.finance.io.FinancialCsvReader;
+import com.example.finance.report.ReportOutput;
+import com.example.finance.report.ReportScheduler;
+import com.example.finance.tenant.TenantRegistry;
+import com.example.finance.tenant.TenantWorkspace;
 import com.example.finance.util.RolesCache;
 
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class FinancialAnalysisApp {
+    private static final String LEDGER_DATASET = "ledger";
+    private static final Set<String> LEDGER_FREE_REPORTS = Set.of("dataset-scan", "roles");
+
     private FinancialAnalysisApp() {
     }
 
     public static void main(String[] args) {
         CliOptions options = CliOptions.parse(args);
-        FinancialDataFrame financialData = FinancialCsvReader.readTransactions(options.csvPath());
-
-        System.out.println("Financial Analysis CLI");
-        System.out.println("======================");
+        try (AuditLog auditLog = AuditLog.open(options.auditLogPath())) {
+            run(options, auditLog);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write audit log " + options.auditLogPath(), ex);
+        } catch (IllegalArgumentException ex) {
+            // Input the ledger cannot be reported on, such as FX rates that start after its first row.
+            System.err.println("Error: " + ex.getMessage());
+            System.exit(1);
+        } catch (SecurityException ex) {
+            System.err.println("Error: " + ex.getMessage() + ". Grant access with a line such as '"
+                    + System.getProperty("user.name") + "=Administrator Role' in "
+                    + options.rolesDir().resolve(options.tenant() + ".roles").toAbsolutePath());
+            System.exit(1);
+        }
+    }
 
-        ReportService reportService = new ReportService();
-        VisualizationService visualizationService = new VisualizationService();
-        InsightsService insightsService = new InsightsService();
-        RiskService riskService = new RiskService(options.currency());
-        ForecastService forecastService = new ForecastService(options.currency());
-        SummaryExportService exportService = new SummaryExportService(options.currency());
+    private static void run(CliOptions options, AuditLog auditLog) {
+        SecretKey key = options.keystorePath() != null
+                ? LocalKeyStore.loadKey(options.keystorePath(), options.keyAlias())
+                : null;
+        ReportOutput out = ReportOutput.console(options.outputMode());
+        out.banner("Financial Analysis CLI");
+        out.flush();
 
-        reportService.analyzeExpenses(financialData);
-        reportService.identifyHighValueTransactions(financialData, options.threshold());
-        reportService.categorizeTransactions(financialData);
-        reportService.generateMonthlyReport(financialData);
-        reportService.generateCustomReport(financialData);
+        TenantRegistry tenants = new TenantRegistry(auditLog);
+        TenantWorkspace workspace = tenants.open(options.tenant(), options.tenantBudgetBytes(), options.rolesDir());
+        RolesCache rolesCache = workspace.roles();
+        String principal = System.getProperty("user.name");
+        // The loader reports its quarantine here so the loader itself never writes report output.
+        AtomicReference<CsvQuarantine> lastQuarantine = new AtomicReference<>();
+        workspace.register(LEDGER_DATASET, Set.of("Administrator Role", "Regular User Role"),
+                () -> FinancialCsvReader.estimateFrameBytes(options.csvPath()),
+                () -> loadLedger(options, key, auditLog, lastQuarantine));
 
-        visualizationService.visualizeExpenseTrends(financialData);
-        visualizationService.visualizeTransactionCategories(financialData);
-        insightsService.analyzeRecurringCharges(financialData);
-        riskService.printRiskSummary(financialData);
-        forecastService.printForecast(financialData);
+        long ingestStart = System.nanoTime();
+        FinancialDataFrame financialData = needsLedger(options.reports())
+                ? workspace.frame(LEDGER_DATASET, principal)
+                : null;
+        long ingestNanos = System.nanoTime() - ingestStart;
+        CsvQuarantine quarantine = lastQuarantine.get();
+        if (quarantine != null && quarantine.count() > 0) {
+            Path quarantinePath = quarantine.path().toAbsolutePath();
+            out.record("Quarantined " + quarantine.count() + " malformed rows to " + quarantinePath,
+                    "quarantined", quarantine.count(),
+                    "quarantine_file", quarantinePath);
+            out.endSection();
+        }
 
-        financialData.displayColumns();
-        financialData.displayHead(options.previewLimit());
-        financialData.displaySample(options.previewLimit());
-        financialData.displayTransactionTypes();
-        financialData.displayDestinationCounts();
-        financialData.filterHighValueTransactions(options.threshold()).forEach(System.out::println);
-        financialData.averageBalanceByDestination().forEach((destination, average) ->
-                System.out.printf("Average balance for %-20s : %.2f%n", destination, average));
+        // Services are created inside their steps so reports that are not selected never load their classes.
+        ReportScheduler scheduler = new ReportScheduler(auditLog, options.threads(), options.reports());
+        scheduler.add("expenses", output -> new ReportService().analyzeExpenses(financialData, output))
+                .add("high-value", output ->
+                        new ReportService().identifyHighValueTransactions(financialData, options.threshold(), output))
+                .add("categories", output -> new ReportService().categorizeTransactions(financialData, output))
+                .add("monthly", output -> new ReportService().generateMonthlyReport(financialData, output))
+                .add("destinations", output -> new ReportService().generateCustomReport(financialData, output))
+                .add("expense-trends", output ->
+                        new VisualizationService().visualizeExpenseTrends(financialData, output))
+                .add("category-chart", output ->
+                        new VisualizationService().visualizeTransactionCategories(financialData, output))
+                .add("recurring", output -> new InsightsService().analyzeRecurringCharges(financialData, output))
+                .add("risk", output -> new RiskService(options.currency()).printRiskSummary(financialData, output))
+                .add("forecast", output ->
+                        new ForecastService(options.currency()).printForecast(financialData, output))
+                .add("reconciliation", output -> new BalanceReconciliationService()
+                        .printReconciliation(financialData, ingestNanos, output))
+                .add("frame-preview", output -> {
+                    financialData.displayColumns(output);
+                    financialData.displayHead(options.previewLimit(), output);
+                    financialData.displaySample(options.previewLimit(), options.sampleSeed(), output);
+                    financialData.displayTransactionTypes(output);
+                    financialData.displayDestinationCounts(output);
+                    output.label("High-value Transactions (threshold: " + options.threshold() + ")");
+                    financialData.filterHighValueTransactions(options.threshold())
+                            .forEach(transaction -> output.transaction("", transaction));
+                    financialData.averageBalanceByDestination().forEach((destination, average) ->
+                            output.record(String.format(Locale.ROOT, "Average balance for %-20s : %.2f",
+                                            destination, average),
+                                    "destination", destination,
+                                    "average_balance", average));
+                })
+                .add("samples", output -> new SamplingService(options.sampleSeed(), options.stratifyBy())
+                        .printSamples(financialData, options.previewLimit(), output))
+                .add("dataset-scan", output -> {
+                    List<String> skippedFiles =
+                            HamOrSpamDatasetReader.readHamOrSpamDataset(Path.of(options.hamSpamPath()));
+                    if (!skippedFiles.isEmpty()) {
+                        output.label("Skipped dataset files:");
+                        skippedFiles.forEach(file -> output.record(" - " + file, "skipped", file));
+                    }
+                })
+                .add("roles", output -> {
+                    String role = rolesCache.get(principal).orElse("no role");
+                    output.record("Your role is " + role, "principal", principal, "role", role);
+                });
+        // Exports are only written once every report over the same frame has succeeded.
+        scheduler.add("export", output -> new SummaryExportService(options.currency(), key, auditLog)
+                        .writeSummaryReports(financialData, options.exportDir(), output),
+                scheduler.stepNames().toArray(String[]::new));
+        scheduler.run(out);
 
-        List<String> skippedFiles = HamOrSpamDatasetReader.readHamOrSpamDataset(Path.of(options.hamSpamPath()));
-        if (!skippedFiles.isEmpty()) {
-            System.out.println("Skipped dataset files:");
-            skippedFiles.forEach(file -> System.out.println(" - " + file));
+        if (options.startupTiming()) {
+            Instant started = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+            System.err.printf(Locale.ROOT,
+                    "Startup timing: first report after %d ms, finished after %d ms (since JVM start)%n",
+                    Duration.between(started, scheduler.firstReportOutput().orElse(Instant.now())).toMillis(),
+                    Duration.between(started, Instant.now()).toMillis());
         }
+    }
 
-        RolesCache rolesCache = new RolesCache(10);
-        rolesCache.set("admin", "Administrator Role");
-        rolesCache.set("user", "Regular User Role");
-
-        rolesCache.get("admin").ifPresent(role -> System.out.println("Your role is " + role));
-        rolesCache.get("user").ifPresent(role -> System.out.println("Your role is " + role));
+    private static boolean needsLedger(Set<String> reports) {
+        return reports.isEmpty() || !LEDGER_FREE_REPORTS.containsAll(reports);
+    }
 
-        exportService.writeSummaryReports(financialData, options.exportDir());
+    private static FinancialDataFrame loadLedger(CliOptions options, SecretKey key, AuditLog auditLog,
+                                                 AtomicReference<CsvQuarantine> lastQuarantine) {
+        FinancialDataFrame ledger;
+        try (CsvQuarantine quarantine = new CsvQuarantine(options.quarantinePath(), options.csvDialect(), key)) {
+            ledger = FinancialCsvReader.readTransactions(options.csvPath(), options.csvDialect(), quarantine,
+                    key, options.ledgerCurrency(), options.threads());
+            lastQuarantine.set(quarantine);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write CSV quarantine file", ex);
+        }
+        FxRateTable rates = options.fxRatesPath() != null
+                ? FxRateTable.load(options.fxRatesPath(), options.fxBaseCurrency())
+                : FxRateTable.empty(options.fxBaseCurrency());
+        auditLog.record("frame.load", (options.csvPath() != null ? options.csvPath().toAbsolutePath() : "sample")
+                + " rows=" + ledger.transactions().size());
+        return ledger.withReportingCurrency(options.currency(), rates);
     }
 }
@@ -0,0 +1,8 @@
+package com.example.finance.analysis;
+
+import java.util.List;
+
+// mismatches holds only the first BalanceValidator.MAX_RETAINED_MISMATCHES, by line; mismatchCount is the total.
+public record BalanceCheck(long rowsChecked, long validationNanos, long mismatchCount,
+                           List<BalanceMismatch> mismatches) {
+}
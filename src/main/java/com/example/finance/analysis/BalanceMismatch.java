@@ -0,0 +1,15 @@
+package com.example.finance.analysis;
+
+import java.time.LocalDate;
+
+public record BalanceMismatch(
+        long lineNumber,
+        String account,
+        LocalDate date,
+        double expectedBalance,
+        double actualBalance
+) {
+    public double drift() {
+        return actualBalance - expectedBalance;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.finance.analysis;
+
+import com.example.finance.report.ReportOutput;
+
+import java.util.List;
+import java.util.Locale;
+
+public class BalanceReconciliationService {
+    public void printReconciliation(FinancialDataFrame data, long ingestNanos, ReportOutput out) {
+        out.section("Balance Reconciliation");
+        BalanceCheck check = data.balanceCheck();
+        List<BalanceMismatch> mismatches = check.mismatches();
+
+        if (check.mismatchCount() == 0) {
+            out.text("All running balances reconcile.");
+        } else {
+            out.record(String.format(Locale.ROOT, "%d running-balance mismatches found (showing the first %d)",
+                            check.mismatchCount(), mismatches.size()),
+                    "mismatches", check.mismatchCount());
+            mismatches.forEach(mismatch -> out.record(String.format(Locale.ROOT,
+                            "Line %d [%s] %s: expected=%.2f actual=%.2f drift=%.2f",
+                            mismatch.lineNumber(),
+                            mismatch.account(),
+                            mismatch.date(),
+                            mismatch.expectedBalance(),
+                            mismatch.actualBalance(),
+                            mismatch.drift()),
+                    "line", mismatch.lineNumber(),
+                    "account", mismatch.account(),
+                    "date", mismatch.date(),
+                    "expected", mismatch.expectedBalance(),
+                    "actual", mismatch.actualBalance()));
+        }
+
+        long rows = check.rowsChecked();
+        double validationMillis = check.validationNanos() / 1_000_000.0;
+        double ingestMillis = ingestNanos / 1_000_000.0;
+        out.record(String.format(Locale.ROOT, "Validated %d rows in %.2f ms (%.0f rows/s) during an ingest of %.2f ms",
+                        rows,
+                        validationMillis,
+                        rows / Math.max(1e-9, check.validationNanos() / 1_000_000_000.0),
+                        ingestMillis),
+                "rows", rows,
+                "validation_ms", validationMillis,
+                "ingest_ms", ingestMillis);
+        out.endSection();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.finance.analysis;
+
+import com.example.finance.model.Transaction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streaming running-balance check, fed by the CSV reader as rows are parsed. Each
+ * account is its own chain: a row's balance must equal the previous balance of the
+ * same account, in file order, plus the signed amount. File order is the chain a bank
+ * export prints, and it needs no buffering; rows of one day carry no order of their own.
+ *
+ * <p>Rows are handed over in batches. With more than one thread, accounts are sharded
+ * by hash across single-threaded workers, so every account is checked by one worker in
+ * file order while the reader keeps parsing. Only the first
+ * {@link #MAX_RETAINED_MISMATCHES} mismatches are kept; the rest are counted, so a
+ * ledger that fails on every row still validates in constant memory.
+ */
+public class BalanceValidator implements AutoCloseable {
+    public static final int MAX_RETAINED_MISMATCHES = 20;
+    static final double TOLERANCE = 0.005;
+    private static final int BATCH_SIZE = 4096;
+    // Batches handed to the workers but not yet checked; bounds memory when validation falls behind.
+    private static final int MAX_BATCHES_IN_FLIGHT = 8;
+
+    private final Shard[] shards;
+    private final ExecutorService[] workers;
+    private final ArrayDeque<Future<?>> inFlight = new ArrayDeque<>();
+    private Batch batch = new Batch();
+    private long rowsChecked;
+
+    public BalanceValidator() {
+        this(1);
+    }
+
+    public BalanceValidator(int threads) {
+        shards = new Shard[Math.max(1, threads)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, shards.length);
+        }
+        workers = shards.length > 1 ? new ExecutorService[shards.length] : null;
+        for (int i = 0; workers != null && i < workers.length; i++) {
+            String name = "balance-validator-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void accept(long lineNumber, String account, Transaction transaction) {
+        batch.lineNumbers[batch.size] = lineNumber;
+        batch.accounts[batch.size] = account;
+        batch.rows[batch.size] = transaction;
+        if (++batch.size == BATCH_SIZE) {
+            dispatch();
+        }
+    }
+
+    public BalanceCheck finish() {
+        dispatch();
+        while (!inFlight.isEmpty()) {
+            await(inFlight.poll());
+        }
+        long validationNanos = 0;
+        long mismatchCount = 0;
+        List<BalanceMismatch> mismatches = new ArrayList<>();
+        for (Shard shard : shards) {
+            validationNanos += shard.validationNanos;
+            mismatchCount += shard.mismatchCount;
+            mismatches.addAll(shard.mismatches);
+        }
+        // Each shard kept its own first mismatches, so the overall first ones are among them.
+        mismatches.sort(Comparator.comparingLong(BalanceMismatch::lineNumber));
+        return new BalanceCheck(rowsChecked, validationNanos, mismatchCount,
+                List.copyOf(mismatches.subList(0, Math.min(MAX_RETAINED_MISMATCHES, mismatches.size()))));
+    }
+
+    @Override
+    public void close() {
+        for (int i = 0; workers != null && i < workers.length; i++) {
+            workers[i].shutdownNow();
+        }
+    }
+
+    private void dispatch() {
+        Batch full = batch;
+        if (full.size == 0) {
+            return;
+        }
+        rowsChecked += full.size;
+        if (workers == null) {
+            shards[0].check(full);
+            full.size = 0;
+            return;
+        }
+        batch = new Batch();
+        while (inFlight.size() >= MAX_BATCHES_IN_FLIGHT * workers.length) {
+            await(inFlight.poll());
+        }
+        for (int i = 0; i < workers.length; i++) {
+            Shard shard = shards[i];
+            inFlight.add(workers[i].submit(() -> shard.check(full)));
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating balances", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Balance validation failed", ex.getCause());
+        }
+    }
+
+    private static final class Batch {
+        private final long[] lineNumbers = new long[BATCH_SIZE];
+        private final String[] accounts = new String[BATCH_SIZE];
+        private final Transaction[] rows = new Transaction[BATCH_SIZE];
+        private int size;
+    }
+
+    // Confined to one worker thread; finish() reads it only after every submitted batch has completed.
+    private static final class Shard {
+        private final int index;
+        private final int count;
+        private final Map<String, Double> lastBalances = new HashMap<>();
+        private final List<BalanceMismatch> mismatches = new ArrayList<>();
+        private long mismatchCount;
+        private long validationNanos;
+
+        private Shard(int index, int count) {
+            this.index = index;
+            this.count = count;
+        }
+
+        private void check(Batch batch) {
+            long start = System.nanoTime();
+            for (int i = 0; i < batch.size; i++) {
+                String account = batch.accounts[i];
+                if (count > 1 && Math.floorMod(account.hashCode(), count) != index) {
+                    continue;
+                }
+                Transaction transaction = batch.rows[i];
+                Double previous = lastBalances.put(account, transaction.balance());
+                if (previous != null) {
+                    double expected = previous + transaction.signedAmount();
+                    if (Math.abs(expected - transaction.balance()) > TOLERANCE
+                            && mismatchCount++ < MAX_RETAINED_MISMATCHES) {
+                        mismatches.add(new BalanceMismatch(batch.lineNumbers[i], account, transaction.date(),
+                                expected, transaction.balance()));
+                    }
+                }
+            }
+            validationNanos += System.nanoTime() - start;
+        }
+    }
+}
@@ -1,70 +1,163 @@
 package com.example.finance.analysis;
 
+import com.example.finance.fx.CurrencyConverter;
+import com.example.finance.fx.FxRateTable;
 import com.example.finance.model.Transaction;
 import com.example.finance.model.TransactionType;
+import com.example.finance.report.ReportOutput;
+import com.example.finance.sampling.ReservoirSampler;
+import com.example.finance.sampling.Seeds;
+import com.example.finance.sampling.StratifiedSampler;
+import com.example.finance.sampling.WeightedReservoirSampler;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class FinancialDataFrame {
+    private static final int SAMPLE_CHUNK_SIZE = 1 << 16;
+    // Transaction record plus its LocalDate, list slot and three String headers.
+    private static final long ROW_OVERHEAD_BYTES = 56 + 24 + 8 + 3 * 40;
+    private static final long TYPICAL_CSV_ROW_BYTES = 64;
+
     private final List<Transaction> transactions;
+    private final BalanceCheck balanceCheck;
+    private final String reportingCurrency;
+    private final FxRateTable rates;
 
+    // Rows are treated as one account, numbered as CSV lines after a header.
     public FinancialDataFrame(List<Transaction> transactions) {
-        this.transactions = new ArrayList<>(transactions);
+        this(transactions, validate(transactions));
+    }
+
+    public FinancialDataFrame(List<Transaction> transactions, BalanceCheck balanceCheck) {
+        this(new ArrayList<>(transactions), balanceCheck, null, null);
+    }
+
+    private FinancialDataFrame(List<Transaction> transactions, BalanceCheck balanceCheck, String reportingCurrency,
+                               FxRateTable rates) {
+        this.transactions = transactions;
+        this.balanceCheck = balanceCheck;
+        this.reportingCurrency = reportingCurrency;
+        this.rates = rates;
+    }
+
+    private static BalanceCheck validate(List<Transaction> transactions) {
+        try (BalanceValidator validator = new BalanceValidator()) {
+            for (int row = 0; row < transactions.size(); row++) {
+                validator.accept(row + 2L, "ledger", transactions.get(row));
+            }
+            return validator.finish();
+        }
     }
 
     public List<Transaction> transactions() {
         return Collections.unmodifiableList(transactions);
     }
 
-    public void displayColumns() {
-        System.out.println("Columns: date, description, category, type, amount, balance, destination");
+    // Running-balance check done in the same pass that read the rows.
+    public BalanceCheck balanceCheck() {
+        return balanceCheck;
     }
 
-    public void displayHead(int limit) {
-        System.out.println("Head (" + limit + " rows)");
-        transactions.stream().limit(limit).forEach(System.out::println);
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Transaction transaction : transactions) {
+            bytes += ROW_OVERHEAD_BYTES + transaction.description().length()
+                    + transaction.category().length() + transaction.destination().length();
+        }
+        return bytes;
     }
 
-    public void displaySample(int limit) {
-        System.out.println("Sample (" + limit + " rows)");
-        Random random = new Random(42);
-        transactions.stream()
-                .skip(random.nextInt(Math.max(1, transactions.size())))
-                .limit(limit)
-                .forEach(System.out::println);
+    // Estimate before parsing, from the CSV size alone; estimatedBytes() gives the measured size afterwards.
+    public static long estimateBytesForCsv(long csvBytes) {
+        return csvBytes / TYPICAL_CSV_ROW_BYTES * ROW_OVERHEAD_BYTES + csvBytes;
+    }
+
+    public FinancialDataFrame withReportingCurrency(String currency, FxRateTable rates) {
+        String reporting = currency.toUpperCase(Locale.ROOT);
+        Map<String, LocalDate> earliestDates = new HashMap<>();
+        LocalDate firstConverted = null;
+        for (Transaction transaction : transactions) {
+            earliestDates.merge(transaction.currency(), transaction.date(),
+                    BinaryOperator.minBy(Comparator.naturalOrder()));
+            if (!transaction.currency().equals(reporting)
+                    && (firstConverted == null || transaction.date().isBefore(firstConverted))) {
+                firstConverted = transaction.date();
+            }
+        }
+        if (firstConverted == null) {
+            return new FinancialDataFrame(transactions, balanceCheck, null, null);
+        }
+        // Converting a row needs both its own rate and the reporting currency's rate on that day.
+        earliestDates.put(reporting, firstConverted);
+        rates.requireCoverage(earliestDates);
+        return new FinancialDataFrame(transactions, balanceCheck, reporting, rates);
+    }
+
+    public ToDoubleFunction<Transaction> reportingAmount() {
+        return rates == null ? Transaction::amount : new CurrencyConverter(rates, reportingCurrency);
+    }
+
+    // Like reportingAmount(), one instance per scan; converts amount and balance of whole rows.
+    public UnaryOperator<Transaction> inReportingCurrency() {
+        return rates == null ? UnaryOperator.identity() : new CurrencyConverter(rates, reportingCurrency)::convert;
+    }
+
+    public void displayColumns(ReportOutput out) {
+        out.record("Columns: date, description, category, type, amount, balance, destination",
+                "columns", "date,description,category,type,amount,balance,destination");
+    }
+
+    public void displayHead(int limit, ReportOutput out) {
+        out.label("Head (" + limit + " rows)");
+        transactions.stream().limit(limit).forEach(transaction -> out.transaction("", transaction));
     }
 
-    public void displayTransactionTypes() {
-        System.out.println("Transaction Types:");
+    public void displaySample(int limit, long seed, ReportOutput out) {
+        out.label("Sample (" + limit + " rows)");
+        reservoirSample(limit, seed).forEach(transaction -> out.transaction("", transaction));
+    }
+
+    public void displayTransactionTypes(ReportOutput out) {
+        out.label("Transaction Types:");
         transactions.stream()
                 .collect(Collectors.groupingBy(Transaction::type, Collectors.counting()))
-                .forEach((type, count) -> System.out.println(type + ": " + count));
+                .forEach((type, count) -> out.record(type + ": " + count, "type", type, "count", count));
     }
 
-    public void displayDestinationCounts() {
-        System.out.println("Destination Counts:");
+    public void displayDestinationCounts(ReportOutput out) {
+        out.label("Destination Counts:");
         transactions.stream()
                 .collect(Collectors.groupingBy(Transaction::destination, Collectors.counting()))
-                .forEach((destination, count) -> System.out.println(destination + ": " + count));
+                .forEach((destination, count) ->
+                        out.record(destination + ": " + count, "destination", destination, "count", count));
     }
 
     public List<Transaction> filterHighValueTransactions(double threshold) {
-        System.out.println("High-value Transactions (threshold: " + threshold + ")");
         return transactions.stream()
+                .map(inReportingCurrency())
                 .filter(transaction -> transaction.amount() >= threshold)
                 .toList();
     }
 
     public Map<String, Double> averageBalanceByDestination() {
         return transactions.stream()
+                .map(inReportingCurrency())
                 .collect(Collectors.groupingBy(Transaction::destination,
                         Collectors.averagingDouble(Transaction::balance)));
     }
@@ -72,14 +165,21 @@ public class FinancialDataFrame {
     public DoubleSummaryStatistics summarize(TransactionType type) {
         return transactions.stream()
                 .filter(transaction -> transaction.type() == type)
-                .collect(Collectors.summarizingDouble(Transaction::amount));
+                .collect(Collectors.summarizingDouble(reportingAmount()));
     }
 
     public Map<YearMonth, DoubleSummaryStatistics> summarizeMonthly(TransactionType type) {
         return transactions.stream()
                 .filter(transaction -> transaction.type() == type)
                 .collect(Collectors.groupingBy(transaction -> YearMonth.from(transaction.date()),
-                        Collectors.summarizingDouble(Transaction::amount)));
+                        Collectors.summarizingDouble(reportingAmount())));
+    }
+
+    public Map<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> summarizeMonthlyByType() {
+        return transactions.stream()
+                .collect(Collectors.groupingBy(transaction -> YearMonth.from(transaction.date()),
+                        Collectors.groupingBy(Transaction::type,
+                                Collectors.summarizingDouble(reportingAmount()))));
     }
 
     public Map<YearMonth, List<Transaction>> transactionsByMonth() {
@@ -91,12 +191,68 @@ public class FinancialDataFrame {
         return transactions.stream()
                 .filter(transaction -> transaction.type() == type)
                 .collect(Collectors.groupingBy(Transaction::category,
-                        Collectors.summarizingDouble(Transaction::amount)));
+                        Collectors.summarizingDouble(reportingAmount())));
     }
 
     public <T> Map<T, DoubleSummaryStatistics> summarizeBy(Function<Transaction, T> classifier) {
         return transactions.stream()
                 .collect(Collectors.groupingBy(classifier,
-                        Collectors.summarizingDouble(Transaction::amount)));
+                        Collectors.summarizingDouble(reportingAmount())));
+    }
+
+    public List<Transaction> reservoirSample(int size, long seed) {
+        if (size <= 0) {
+            return List.of();
+        }
+        return sampleChunks(chunk -> {
+            ReservoirSampler<Transaction> sampler = new ReservoirSampler<>(size, Seeds.derive(seed, chunk));
+            chunkRows(chunk).forEach(sampler::accept);
+            return sampler;
+        }, ReservoirSampler::merge).sample();
+    }
+
+    public List<Transaction> weightedSampleByAmount(int size, long seed) {
+        if (size <= 0) {
+            return List.of();
+        }
+        return sampleChunks(chunk -> {
+            WeightedReservoirSampler<Transaction> sampler =
+                    new WeightedReservoirSampler<>(size, Seeds.derive(seed, chunk));
+            UnaryOperator<Transaction> converter = inReportingCurrency();
+            for (Transaction transaction : chunkRows(chunk)) {
+                Transaction converted = converter.apply(transaction);
+                sampler.accept(converted, converted.amount());
+            }
+            return sampler;
+        }, WeightedReservoirSampler::merge).sample();
+    }
+
+    public <K> Map<K, List<Transaction>> stratifiedSample(Function<Transaction, K> stratum, int sizePerStratum,
+                                                         long seed) {
+        if (sizePerStratum <= 0) {
+            return Map.of();
+        }
+        return sampleChunks(chunk -> {
+            StratifiedSampler<K, Transaction> sampler =
+                    new StratifiedSampler<>(stratum, sizePerStratum, Seeds.derive(seed, chunk));
+            chunkRows(chunk).forEach(sampler::accept);
+            return sampler;
+        }, StratifiedSampler::merge).sample();
+    }
+
+    // Chunks are sampled in parallel with per-chunk seeds and merged in chunk order, so the
+    // result depends only on the seed and never on the thread count.
+    private <S> S sampleChunks(IntFunction<S> sampleChunk, BinaryOperator<S> merge) {
+        int chunks = Math.max(1, (transactions.size() + SAMPLE_CHUNK_SIZE - 1) / SAMPLE_CHUNK_SIZE);
+        List<S> samplers = IntStream.range(0, chunks).parallel()
+                .mapToObj(sampleChunk)
+                .toList();
+        return samplers.stream().reduce(merge).orElseThrow();
+    }
+
+    private List<Transaction> chunkRows(int chunk) {
+        int from = chunk * SAMPLE_CHUNK_SIZE;
+        return transactions.subList(Math.min(from, transactions.size()),
+                Math.min(from + SAMPLE_CHUNK_SIZE, transactions.size()));
     }
 }
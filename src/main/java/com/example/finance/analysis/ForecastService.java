@@ -1,11 +1,14 @@
 package com.example.finance.analysis;
 
+import com.example.finance.fx.Currencies;
 import com.example.finance.model.TransactionType;
+import com.example.finance.report.ReportOutput;
 
 import java.time.YearMonth;
 import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -16,9 +19,8 @@ public class ForecastService {
         this.currency = currency;
     }
 
-    public void printForecast(FinancialDataFrame data) {
-        System.out.println("Cashflow Forecast");
-        System.out.println("-----------------");
+    public void printForecast(FinancialDataFrame data, ReportOutput out) {
+        out.section("Cashflow Forecast");
 
         List<Map.Entry<YearMonth, DoubleSummaryStatistics>> expenseHistory = data
                 .summarizeMonthly(TransactionType.DEBIT).entrySet().stream()
@@ -26,8 +28,8 @@ public class ForecastService {
                 .toList();
 
         if (expenseHistory.size() < 2) {
-            System.out.println("Not enough data for forecast.");
-            System.out.println();
+            out.text("Not enough data for forecast.");
+            out.endSection();
             return;
         }
 
@@ -44,20 +46,14 @@ public class ForecastService {
         for (int i = 1; i <= 3; i++) {
             YearMonth month = lastMonth.plusMonths(i);
             double forecast = rollingAverage * (1 + 0.02 * i);
-            System.out.printf("%s projected expenses: %s%.2f%n",
-                    month,
-                    currencySymbol(),
-                    forecast);
+            out.record(String.format(Locale.ROOT, "%s projected expenses: %s%.2f",
+                            month,
+                            Currencies.symbol(currency),
+                            forecast),
+                    "month", month,
+                    "projected_expenses", forecast,
+                    "currency", currency.toUpperCase());
         }
-        System.out.println();
-    }
-
-    private String currencySymbol() {
-        return switch (currency.toUpperCase()) {
-            case "USD" -> "$";
-            case "EUR" -> "€";
-            case "GBP" -> "£";
-            default -> currency.toUpperCase() + " ";
-        };
+        out.endSection();
     }
 }
@@ -1,28 +1,35 @@
 package com.example.finance.analysis;
 
+import com.example.finance.fx.Currencies;
 import com.example.finance.model.Transaction;
 import com.example.finance.model.TransactionType;
+import com.example.finance.report.ReportOutput;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public class InsightsService {
-    public void analyzeRecurringCharges(FinancialDataFrame data) {
-        System.out.println("Recurring Charges");
-        System.out.println("-----------------");
+    public void analyzeRecurringCharges(FinancialDataFrame data, ReportOutput out) {
+        out.section("Recurring Charges");
         Map<String, Long> recurring = data.transactions().stream()
                 .filter(transaction -> transaction.type() == TransactionType.DEBIT)
                 .collect(Collectors.groupingBy(this::signature, Collectors.counting()));
 
         recurring.entrySet().stream()
                 .filter(entry -> entry.getValue() >= 2)
-                .forEach(entry -> System.out.printf("%s detected %d times%n",
-                        entry.getKey(),
-                        entry.getValue()));
-        System.out.println();
+                .forEach(entry -> out.record(String.format(Locale.ROOT, "%s detected %d times",
+                                entry.getKey(),
+                                entry.getValue()),
+                        "signature", entry.getKey(),
+                        "occurrences", entry.getValue()));
+        out.endSection();
     }
 
     private String signature(Transaction transaction) {
-        return String.format("%s ($%.2f)", transaction.destination(), transaction.amount());
+        return String.format(Locale.ROOT, "%s (%s%.2f)",
+                transaction.destination(),
+                Currencies.symbol(transaction.currency()),
+                transaction.amount());
     }
 }
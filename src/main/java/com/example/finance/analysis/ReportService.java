@@ -2,75 +2,79 @@ package com.example.finance.analysis;
 
 import com.example.finance.model.Transaction;
 import com.example.finance.model.TransactionType;
+import com.example.finance.report.ReportOutput;
 
 import java.time.YearMonth;
 import java.util.DoubleSummaryStatistics;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class ReportService {
-    public void analyzeExpenses(FinancialDataFrame data) {
-        System.out.println("Expense Overview");
-        System.out.println("----------------");
+    public void analyzeExpenses(FinancialDataFrame data, ReportOutput out) {
+        out.section("Expense Overview");
         DoubleSummaryStatistics stats = data.summarize(TransactionType.DEBIT);
-        System.out.printf("Total expenses: %.2f%n", stats.getSum());
-        System.out.printf("Average expense: %.2f%n", stats.getAverage());
-        System.out.printf("Largest expense: %.2f%n", stats.getMax());
-        System.out.println();
+        out.metric("Total expenses", stats.getSum());
+        out.metric("Average expense", stats.getAverage());
+        out.metric("Largest expense", stats.getMax());
+        out.endSection();
     }
 
-    public void identifyHighValueTransactions(FinancialDataFrame data, double threshold) {
-        System.out.println("High-Value Transactions");
-        System.out.println("-----------------------");
+    public void identifyHighValueTransactions(FinancialDataFrame data, double threshold, ReportOutput out) {
+        out.section("High-Value Transactions");
+        out.text("High-value Transactions (threshold: " + threshold + ")");
         data.filterHighValueTransactions(threshold)
-                .forEach(transaction -> System.out.println(" - " + transaction));
-        System.out.println();
+                .forEach(transaction -> out.transaction(" - ", transaction));
+        out.endSection();
     }
 
-    public void categorizeTransactions(FinancialDataFrame data) {
-        System.out.println("Category Breakdown");
-        System.out.println("------------------");
+    public void categorizeTransactions(FinancialDataFrame data, ReportOutput out) {
+        out.section("Category Breakdown");
         Map<String, DoubleSummaryStatistics> summary = data.summarizeByCategory(TransactionType.DEBIT);
         summary.forEach((category, stats) ->
-                System.out.printf("%-15s total=%.2f average=%.2f%n",
-                        category,
-                        stats.getSum(),
-                        stats.getAverage()));
-        System.out.println();
+                out.record(String.format(Locale.ROOT, "%-15s total=%.2f average=%.2f",
+                                category,
+                                stats.getSum(),
+                                stats.getAverage()),
+                        "category", category,
+                        "total", stats.getSum(),
+                        "average", stats.getAverage()));
+        out.endSection();
     }
 
-    public void generateMonthlyReport(FinancialDataFrame data) {
-        System.out.println("Monthly Report");
-        System.out.println("--------------");
-        Map<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> monthly = data.transactions().stream()
-                .collect(Collectors.groupingBy(transaction -> YearMonth.from(transaction.date()),
-                        Collectors.groupingBy(Transaction::type,
-                                Collectors.summarizingDouble(Transaction::amount))));
+    public void generateMonthlyReport(FinancialDataFrame data, ReportOutput out) {
+        out.section("Monthly Report");
+        Map<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> monthly = data.summarizeMonthlyByType();
 
         monthly.forEach((month, statsByType) -> {
             double income = statsByType.getOrDefault(TransactionType.CREDIT, new DoubleSummaryStatistics()).getSum();
             double expenses = statsByType.getOrDefault(TransactionType.DEBIT, new DoubleSummaryStatistics()).getSum();
-            System.out.printf("%s: income=%.2f expenses=%.2f net=%.2f%n",
-                    month,
-                    income,
-                    expenses,
-                    income - expenses);
+            out.record(String.format(Locale.ROOT, "%s: income=%.2f expenses=%.2f net=%.2f",
+                            month,
+                            income,
+                            expenses,
+                            income - expenses),
+                    "month", month,
+                    "income", income,
+                    "expenses", expenses,
+                    "net", income - expenses);
         });
-        System.out.println();
+        out.endSection();
     }
 
-    public void generateCustomReport(FinancialDataFrame data) {
-        System.out.println("Top Destinations");
-        System.out.println("----------------");
+    public void generateCustomReport(FinancialDataFrame data, ReportOutput out) {
+        out.section("Top Destinations");
         data.summarizeBy(Transaction::destination).entrySet().stream()
                 .sorted(Map.Entry.<String, DoubleSummaryStatistics>comparingByValue(
                         (left, right) -> Double.compare(right.getSum(), left.getSum())))
                 .limit(5)
                 .forEach(entry ->
-                        System.out.printf("%-20s total=%.2f count=%d%n",
-                                entry.getKey(),
-                                entry.getValue().getSum(),
-                                entry.getValue().getCount()));
-        System.out.println();
+                        out.record(String.format(Locale.ROOT, "%-20s total=%.2f count=%d",
+                                        entry.getKey(),
+                                        entry.getValue().getSum(),
+                                        entry.getValue().getCount()),
+                                "destination", entry.getKey(),
+                                "total", entry.getValue().getSum(),
+                                "count", entry.getValue().getCount()));
+        out.endSection();
     }
 }
@@ -1,12 +1,16 @@
 package com.example.finance.analysis;
 
+import com.example.finance.fx.Currencies;
 import com.example.finance.model.Transaction;
 import com.example.finance.model.TransactionType;
+import com.example.finance.report.ReportOutput;
 
 import java.util.Comparator;
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 public class RiskService {
@@ -16,56 +20,55 @@ public class RiskService {
         this.currency = currency;
     }
 
-    public void printRiskSummary(FinancialDataFrame data) {
-        System.out.println("Risk & Anomaly Insights");
-        System.out.println("-----------------------");
+    public void printRiskSummary(FinancialDataFrame data, ReportOutput out) {
+        out.section("Risk & Anomaly Insights");
 
         List<Transaction> debits = data.transactions().stream()
                 .filter(transaction -> transaction.type() == TransactionType.DEBIT)
                 .toList();
 
+        ToDoubleFunction<Transaction> amount = data.reportingAmount();
         DoubleSummaryStatistics stats = debits.stream()
-                .collect(Collectors.summarizingDouble(Transaction::amount));
+                .collect(Collectors.summarizingDouble(amount));
 
         double mean = stats.getAverage();
         double variance = debits.stream()
-                .mapToDouble(transaction -> Math.pow(transaction.amount() - mean, 2))
+                .mapToDouble(transaction -> Math.pow(amount.applyAsDouble(transaction) - mean, 2))
                 .average()
                 .orElse(0.0);
         double stdDev = Math.sqrt(variance);
 
         debits.stream()
-                .filter(transaction -> stdDev > 0 && (transaction.amount() - mean) / stdDev > 1.5)
-                .sorted(Comparator.comparingDouble(Transaction::amount).reversed())
+                .filter(transaction -> stdDev > 0 && (amount.applyAsDouble(transaction) - mean) / stdDev > 1.5)
+                .sorted(Comparator.comparingDouble(amount).reversed())
                 .limit(3)
                 .forEach(transaction ->
-                        System.out.printf("Anomaly: %-18s %s%.2f (%s)%n",
-                                transaction.destination(),
-                                currencySymbol(),
-                                transaction.amount(),
-                                transaction.date()));
+                        out.record(String.format(Locale.ROOT, "Anomaly: %-18s %s%.2f (%s)",
+                                        transaction.destination(),
+                                        Currencies.symbol(currency),
+                                        amount.applyAsDouble(transaction),
+                                        transaction.date()),
+                                "anomaly", transaction.destination(),
+                                "amount", amount.applyAsDouble(transaction),
+                                "date", transaction.date()));
 
         Map<String, DoubleSummaryStatistics> categoryStats = data.summarizeByCategory(TransactionType.DEBIT);
         categoryStats.entrySet().stream()
                 .sorted((left, right) -> Double.compare(right.getValue().getSum(), left.getValue().getSum()))
                 .limit(3)
                 .forEach(entry ->
-                        System.out.printf("Risk hotspot: %-15s total=%s%.2f%n",
-                                entry.getKey(),
-                                currencySymbol(),
-                                entry.getValue().getSum()));
+                        out.record(String.format(Locale.ROOT, "Risk hotspot: %-15s total=%s%.2f",
+                                        entry.getKey(),
+                                        Currencies.symbol(currency),
+                                        entry.getValue().getSum()),
+                                "hotspot", entry.getKey(),
+                                "total", entry.getValue().getSum()));
 
         double burnRate = stats.getSum() / Math.max(1, data.transactionsByMonth().size());
-        System.out.printf("Estimated monthly burn rate: %s%.2f%n", currencySymbol(), burnRate);
-        System.out.println();
-    }
-
-    private String currencySymbol() {
-        return switch (currency.toUpperCase()) {
-            case "USD" -> "$";
-            case "EUR" -> "€";
-            case "GBP" -> "£";
-            default -> currency.toUpperCase() + " ";
-        };
+        out.record(String.format(Locale.ROOT, "Estimated monthly burn rate: %s%.2f",
+                        Currencies.symbol(currency), burnRate),
+                "metric", "Estimated monthly burn rate",
+                "value", burnRate);
+        out.endSection();
     }
 }
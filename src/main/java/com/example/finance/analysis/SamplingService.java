@@ -0,0 +1,42 @@
+package com.example.finance.analysis;
+
+import com.example.finance.model.Transaction;
+import com.example.finance.report.ReportOutput;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+public class SamplingService {
+    private final long seed;
+    private final String stratifyBy;
+    private final Function<Transaction, Object> stratum;
+
+    public SamplingService(long seed, String stratifyBy) {
+        this.seed = seed;
+        this.stratifyBy = stratifyBy.toLowerCase(Locale.ROOT);
+        this.stratum = stratum(this.stratifyBy);
+    }
+
+    public void printSamples(FinancialDataFrame data, int limit, ReportOutput out) {
+        out.section("Stratified Sample (" + stratifyBy + ", " + limit + " per stratum, seed " + seed + ")");
+        Map<Object, List<Transaction>> strata = data.stratifiedSample(stratum, limit, seed);
+        strata.forEach((key, sample) -> sample.forEach(transaction -> out.transaction(key + ": ", transaction)));
+        out.endSection();
+
+        out.section("Amount-weighted Sample (" + limit + " rows, seed " + seed + ")");
+        data.weightedSampleByAmount(limit, seed).forEach(transaction -> out.transaction(" - ", transaction));
+        out.endSection();
+    }
+
+    private static Function<Transaction, Object> stratum(String stratifyBy) {
+        return switch (stratifyBy) {
+            case "category" -> Transaction::category;
+            case "type" -> Transaction::type;
+            case "month" -> transaction -> YearMonth.from(transaction.date());
+            default -> throw new IllegalArgumentException("Unknown sampling stratum: " + stratifyBy);
+        };
+    }
+}
@@ -1,32 +1,60 @@
 package com.example.finance.analysis;
 
+import com.example.finance.audit.AuditLog;
+import com.example.finance.crypto.EncryptingOutputStream;
+import com.example.finance.fx.Currencies;
 import com.example.finance.model.Transaction;
 import com.example.finance.model.TransactionType;
+import com.example.finance.report.ReportOutput;
 
+import javax.crypto.SecretKey;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.YearMonth;
 import java.util.DoubleSummaryStatistics;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class SummaryExportService {
+    private static final String ENCRYPTED_SUFFIX = ".enc";
+
     private final String currency;
+    private final SecretKey exportKey;
+    private final AuditLog auditLog;
+    private long encryptedBytes;
+    private long encryptedExportNanos;
 
     public SummaryExportService(String currency) {
+        this(currency, null, AuditLog.disabled());
+    }
+
+    public SummaryExportService(String currency, SecretKey exportKey, AuditLog auditLog) {
         this.currency = currency;
+        this.exportKey = exportKey;
+        this.auditLog = auditLog;
     }
 
-    public void writeSummaryReports(FinancialDataFrame data, Path outputDir) {
+    public void writeSummaryReports(FinancialDataFrame data, Path outputDir, ReportOutput out) {
         try {
             Files.createDirectories(outputDir);
             writeMarkdownSummary(data, outputDir.resolve("summary.md"));
             writeJsonSummary(data, outputDir.resolve("summary.json"));
             writeHtmlSummary(data, outputDir.resolve("report.html"));
-            System.out.println("Exported summaries to " + outputDir.toAbsolutePath());
+            out.record("Exported summaries to " + outputDir.toAbsolutePath(),
+                    "export_dir", outputDir.toAbsolutePath());
+            if (exportKey != null) {
+                // Files of a few KB are dominated by file creation and cipher setup; CryptTool reports throughput.
+                out.record(String.format(Locale.ROOT, "Wrote %d bytes of AES-GCM encrypted exports in %.2f ms",
+                                encryptedBytes,
+                                encryptedExportNanos / 1_000_000.0),
+                        "encrypted_bytes", encryptedBytes,
+                        "encrypted_export_ms", encryptedExportNanos / 1_000_000.0);
+            }
         } catch (IOException ex) {
-            System.out.println("Failed to export summaries: " + ex.getMessage());
+            out.text("Failed to export summaries: " + ex.getMessage());
         }
     }
 
@@ -34,10 +62,7 @@ public class SummaryExportService {
         StringBuilder builder = new StringBuilder();
         builder.append("# Financial Summary\n\n");
         builder.append("## Monthly Totals\n\n");
-        Map<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> monthly = data.transactions().stream()
-                .collect(Collectors.groupingBy(transaction -> YearMonth.from(transaction.date()),
-                        Collectors.groupingBy(Transaction::type,
-                                Collectors.summarizingDouble(Transaction::amount))));
+        Map<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> monthly = data.summarizeMonthlyByType();
 
         monthly.entrySet().stream()
                 .sorted(Map.Entry.comparingByKey())
@@ -46,13 +71,13 @@ public class SummaryExportService {
                     Map<TransactionType, DoubleSummaryStatistics> statsByType = entry.getValue();
             double income = statsByType.getOrDefault(TransactionType.CREDIT, new DoubleSummaryStatistics()).getSum();
             double expenses = statsByType.getOrDefault(TransactionType.DEBIT, new DoubleSummaryStatistics()).getSum();
-            builder.append(String.format("- %s: income=%s%.2f expenses=%s%.2f net=%s%.2f%n",
+            builder.append(String.format(Locale.ROOT, "- %s: income=%s%.2f expenses=%s%.2f net=%s%.2f%n",
                     month,
-                    currencySymbol(),
+                    Currencies.symbol(currency),
                     income,
-                    currencySymbol(),
+                    Currencies.symbol(currency),
                     expenses,
-                    currencySymbol(),
+                    Currencies.symbol(currency),
                     income - expenses));
         });
 
@@ -62,22 +87,19 @@ public class SummaryExportService {
                         (left, right) -> Double.compare(right.getSum(), left.getSum())))
                 .limit(5)
                 .forEach(entry ->
-                        builder.append(String.format("- %s: %s%.2f%n",
+                        builder.append(String.format(Locale.ROOT, "- %s: %s%.2f%n",
                                 entry.getKey(),
-                                currencySymbol(),
+                                Currencies.symbol(currency),
                                 entry.getValue().getSum())));
 
-        Files.writeString(path, builder.toString());
+        writeExport(path, builder);
     }
 
     private void writeJsonSummary(FinancialDataFrame data, Path path) throws IOException {
         StringBuilder builder = new StringBuilder();
         builder.append("{\n");
         builder.append("  \"monthlyTotals\": [\n");
-        Map<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> monthly = data.transactions().stream()
-                .collect(Collectors.groupingBy(transaction -> YearMonth.from(transaction.date()),
-                        Collectors.groupingBy(Transaction::type,
-                                Collectors.summarizingDouble(Transaction::amount))));
+        Map<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> monthly = data.summarizeMonthlyByType();
 
         var sortedMonthly = monthly.entrySet().stream()
                 .sorted(Map.Entry.comparingByKey())
@@ -87,7 +109,7 @@ public class SummaryExportService {
             Map.Entry<YearMonth, Map<TransactionType, DoubleSummaryStatistics>> entry = sortedMonthly.get(i);
             double income = entry.getValue().getOrDefault(TransactionType.CREDIT, new DoubleSummaryStatistics()).getSum();
             double expenses = entry.getValue().getOrDefault(TransactionType.DEBIT, new DoubleSummaryStatistics()).getSum();
-            builder.append(String.format(
+            builder.append(String.format(Locale.ROOT,
                     "    {\"month\": \"%s\", \"income\": %.2f, \"expenses\": %.2f, \"net\": %.2f}%s%n",
                     entry.getKey(),
                     income,
@@ -99,7 +121,7 @@ public class SummaryExportService {
         builder.append("  \"currency\": \"").append(currency.toUpperCase()).append("\"\n");
         builder.append("}\n");
 
-        Files.writeString(path, builder.toString());
+        writeExport(path, builder);
     }
 
     private void writeHtmlSummary(FinancialDataFrame data, Path path) throws IOException {
@@ -143,17 +165,17 @@ public class SummaryExportService {
                 <section class="grid">
                   <div class="card">
                     <div class="label">Total Income</div>
-                    <div class="metric">""").append(currencySymbol()).append(String.format("%.2f", income.getSum())).append("""
+                    <div class="metric">""").append(Currencies.symbol(currency)).append(String.format(Locale.ROOT, "%.2f", income.getSum())).append("""
                     </div>
                   </div>
                   <div class="card">
                     <div class="label">Total Expenses</div>
-                    <div class="metric">""").append(currencySymbol()).append(String.format("%.2f", expenses.getSum())).append("""
+                    <div class="metric">""").append(Currencies.symbol(currency)).append(String.format(Locale.ROOT, "%.2f", expenses.getSum())).append("""
                     </div>
                   </div>
                   <div class="card">
                     <div class="label">Net Cashflow</div>
-                    <div class="metric">""").append(currencySymbol()).append(String.format("%.2f", income.getSum() - expenses.getSum())).append("""
+                    <div class="metric">""").append(Currencies.symbol(currency)).append(String.format(Locale.ROOT, "%.2f", income.getSum() - expenses.getSum())).append("""
                     </div>
                   </div>
                 </section>
@@ -180,10 +202,10 @@ public class SummaryExportService {
                     builder.append("<tr><td>")
                             .append(entry.getKey())
                             .append("</td><td>")
-                            .append(currencySymbol())
-                            .append(String.format("%.2f", total))
+                            .append(Currencies.symbol(currency))
+                            .append(String.format(Locale.ROOT, "%.2f", total))
                             .append("</td><td><div class=\"bar\"><span style=\"width:")
-                            .append(String.format("%.0f", pct))
+                            .append(String.format(Locale.ROOT, "%.0f", pct))
                             .append("%\"></span></div></td></tr>");
                 });
         builder.append("""
@@ -206,8 +228,8 @@ public class SummaryExportService {
                 .forEach(entry -> builder.append("<tr><td>")
                         .append(entry.getKey())
                         .append("</td><td>")
-                        .append(currencySymbol())
-                        .append(String.format("%.2f", entry.getValue().getSum()))
+                        .append(Currencies.symbol(currency))
+                        .append(String.format(Locale.ROOT, "%.2f", entry.getValue().getSum()))
                         .append("</td></tr>"));
         builder.append("""
                     </tbody>
@@ -226,15 +248,27 @@ public class SummaryExportService {
                 </html>
                 """);
 
-        Files.writeString(path, builder.toString());
+        writeExport(path, builder);
     }
 
-    private String currencySymbol() {
-        return switch (currency.toUpperCase()) {
-            case "USD" -> "$";
-            case "EUR" -> "€";
-            case "GBP" -> "£";
-            default -> currency.toUpperCase() + " ";
-        };
+    private void writeExport(Path path, CharSequence content) throws IOException {
+        if (exportKey == null) {
+            Files.writeString(path, content);
+            auditLog.record("export.write", path.toAbsolutePath().toString());
+            return;
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        Path encryptedPath = path.resolveSibling(path.getFileName() + ENCRYPTED_SUFFIX);
+        long start = System.nanoTime();
+        try (OutputStream out = new EncryptingOutputStream(Files.newOutputStream(encryptedPath), exportKey)) {
+            out.write(bytes);
+        }
+        encryptedExportNanos += System.nanoTime() - start;
+        encryptedBytes += bytes.length;
+        auditLog.record("export.write", encryptedPath.toAbsolutePath().toString());
+        // A plaintext copy from an earlier unencrypted run would otherwise sit next to the .enc file.
+        if (Files.deleteIfExists(path)) {
+            auditLog.record("export.plaintext.removed", path.toAbsolutePath().toString());
+        }
     }
 }
@@ -0,0 +1,50 @@
+package com.example.finance.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Line format shared by {@link AuditLog} and {@link AuditVerifier}:
+ * {@code sequence|timestamp|actor|action|subject|previousHash|hash}, where
+ * hash = SHA-256(previousHash + "|" + the first five fields).
+ */
+final class AuditChain {
+    static final String GENESIS_HASH = "0".repeat(64);
+    static final char SEPARATOR = '|';
+
+    private AuditChain() {
+    }
+
+    static String payload(long sequence, AuditEvent event) {
+        return sequence + "|" + event.timestamp() + "|" + escape(event.actor()) + "|"
+                + escape(event.action()) + "|" + escape(event.subject());
+    }
+
+    static String hash(MessageDigest digest, String previousHash, String payload) {
+        digest.reset();
+        digest.update(previousHash.getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) SEPARATOR);
+        digest.update(payload.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available in this JVM", ex);
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\")
+                .replace("|", "\\p")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r");
+    }
+}
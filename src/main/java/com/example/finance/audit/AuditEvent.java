@@ -0,0 +1,6 @@
+package com.example.finance.audit;
+
+import java.time.Instant;
+
+public record AuditEvent(Instant timestamp, String actor, String action, String subject) {
+}
@@ -0,0 +1,280 @@
+package com.example.finance.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only, hash-chained audit trail. Callers only enqueue events into a bounded
+ * queue; a dedicated writer thread drains them in batches, extends the hash chain,
+ * writes each batch with a single channel write and fsyncs at most every
+ * {@link #SYNC_INTERVAL_MILLIS}. Each batch is appended under an exclusive file lock
+ * and resumes the chain from the file's last record, so several processes can share
+ * one log. A torn final record left by a crash is truncated on resume, and the
+ * truncation itself is chained as an {@code audit.tail.truncated} record.
+ *
+ * <p>The chain is an unkeyed SHA-256, so it detects edits and deletions inside the
+ * log but not a complete rewrite or a truncated tail by someone with write access;
+ * keep a copy of the latest hash elsewhere if that matters.
+ */
+public class AuditLog implements Closeable {
+    private static final int MAX_BATCH = 4096;
+    private static final int QUEUE_CAPACITY = 16 * MAX_BATCH;
+    private static final int TAIL_READ_BYTES = 8192;
+    private static final long SYNC_INTERVAL_MILLIS = 200;
+    private static final AuditEvent SHUTDOWN = new AuditEvent(Instant.EPOCH, "", "", "");
+    private static final AuditLog DISABLED = new AuditLog();
+
+    private final Path path;
+    private final String actor;
+    private final BlockingQueue<AuditEvent> queue;
+    private final FileChannel channel;
+    private final Thread writer;
+    private final MessageDigest digest = AuditChain.newDigest();
+    private volatile IOException failure;
+    private long sequence;
+    private String previousHash;
+    private long knownSize = -1;
+
+    private AuditLog() {
+        this.path = null;
+        this.actor = null;
+        this.queue = null;
+        this.channel = null;
+        this.writer = null;
+    }
+
+    private AuditLog(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.actor = System.getProperty("user.name", "unknown");
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // Validate the existing tail up front so a corrupt log stops the run before any work is done.
+        try {
+            FileLock lock = channel.lock();
+            try {
+                resumeChain(new StringBuilder());
+            } finally {
+                lock.release();
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        this.writer = new Thread(this::drain, "audit-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static AuditLog open(Path path) {
+        try {
+            return new AuditLog(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open audit log " + path, ex);
+        }
+    }
+
+    public static AuditLog disabled() {
+        return DISABLED;
+    }
+
+    public void record(String action, String subject) {
+        if (queue != null) {
+            enqueue(new AuditEvent(Instant.now(), actor, action, subject));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            if (writer.isAlive()) {
+                enqueue(SHUTDOWN);
+            }
+            writer.join();
+        } catch (IllegalStateException ex) {
+            // The writer died while we were waiting; its failure is reported below.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Blocks while the queue is full, but never on a writer that has stopped and will not drain it.
+    private void enqueue(AuditEvent event) {
+        try {
+            while (!queue.offer(event, SYNC_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                requireWriter();
+            }
+            requireWriter();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recording audit event", ex);
+        }
+    }
+
+    private void requireWriter() {
+        if (!writer.isAlive()) {
+            throw new IllegalStateException("Audit log writer for " + path + " has stopped", failure);
+        }
+    }
+
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(MAX_BATCH);
+        StringBuilder lines = new StringBuilder(MAX_BATCH * 160);
+        long lastSync = System.currentTimeMillis();
+        boolean dirty = false;
+        boolean running = true;
+        try {
+            while (running) {
+                AuditEvent first = queue.poll(SYNC_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    running = appendBatch(batch, lines);
+                    dirty = true;
+                    batch.clear();
+                }
+                long now = System.currentTimeMillis();
+                if (dirty && (!running || now - lastSync >= SYNC_INTERVAL_MILLIS)) {
+                    channel.force(false);
+                    lastSync = now;
+                    dirty = false;
+                }
+            }
+        } catch (IOException ex) {
+            failure = ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean appendBatch(List<AuditEvent> batch, StringBuilder lines) throws IOException {
+        FileLock lock = channel.lock();
+        try {
+            resumeChain(lines);
+            return appendLocked(batch, lines);
+        } finally {
+            lock.release();
+        }
+    }
+
+    private boolean appendLocked(List<AuditEvent> batch, StringBuilder lines) throws IOException {
+        boolean running = true;
+        lines.setLength(0);
+        for (AuditEvent event : batch) {
+            if (event == SHUTDOWN) {
+                running = false;
+                continue;
+            }
+            String payload = AuditChain.payload(++sequence, event);
+            String hash = AuditChain.hash(digest, previousHash, payload);
+            lines.append(payload).append(AuditChain.SEPARATOR)
+                    .append(previousHash).append(AuditChain.SEPARATOR)
+                    .append(hash).append('\n');
+            previousHash = hash;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        long position = knownSize;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        knownSize = position;
+        return running;
+    }
+
+    // Must hold the file lock. Only re-reads the tail when another process appended since our last write.
+    private void resumeChain(StringBuilder lines) throws IOException {
+        long size = channel.size();
+        if (size == knownSize) {
+            return;
+        }
+        long complete = size == 0 ? 0 : lineStart(size);
+        if (complete < size) {
+            channel.truncate(complete);
+            channel.force(false);
+        }
+        sequence = 0;
+        previousHash = AuditChain.GENESIS_HASH;
+        if (complete > 0) {
+            long start = lineStart(complete - 1);
+            ByteBuffer line = ByteBuffer.allocate((int) (complete - 1 - start));
+            while (line.hasRemaining() && channel.read(line, start + line.position()) >= 0) {
+                // Keep reading until the whole record is in the buffer.
+            }
+            String[] fields = new String(line.array(), StandardCharsets.UTF_8).split("\\|", -1);
+            if (fields.length != 7 || !fields[0].matches("[1-9][0-9]*") || !fields[6].matches("[0-9a-f]{64}")) {
+                throw new IOException("Audit log " + path + " is corrupt at line " + lineNumber(complete));
+            }
+            sequence = Long.parseLong(fields[0]);
+            previousHash = fields[6];
+        }
+        knownSize = complete;
+        if (complete < size) {
+            // The dropped bytes are gone, so leave a chained trace of how many there were.
+            appendLocked(List.of(new AuditEvent(Instant.now(), actor, "audit.tail.truncated",
+                    path + " bytes=" + (size - complete) + " offset=" + complete)), lines);
+            channel.force(false);
+        }
+    }
+
+    // Position just after the last '\n' before end, or 0 when there is none.
+    private long lineStart(long end) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(TAIL_READ_BYTES);
+        long position = end;
+        while (position > 0) {
+            int length = (int) Math.min(TAIL_READ_BYTES, position);
+            position -= length;
+            block.clear().limit(length);
+            while (block.hasRemaining() && channel.read(block, position + block.position()) >= 0) {
+                // Fill the block.
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private long lineNumber(long end) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(TAIL_READ_BYTES);
+        long lines = 0;
+        for (long position = 0; position < end; position += block.limit()) {
+            block.clear().limit((int) Math.min(TAIL_READ_BYTES, end - position));
+            channel.read(block, position);
+            for (int i = 0; i < block.position(); i++) {
+                if (block.get(i) == '\n') {
+                    lines++;
+                }
+            }
+            block.limit(block.position());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.finance.audit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+public final class AuditVerifier {
+    private AuditVerifier() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : "out/audit.log");
+        String problem = verify(path);
+        if (problem == null) {
+            System.out.println("Audit chain intact: " + path.toAbsolutePath());
+        } else {
+            System.out.println("Audit chain broken: " + problem);
+            System.exit(1);
+        }
+    }
+
+    public static String verify(Path path) throws IOException {
+        MessageDigest digest = AuditChain.newDigest();
+        String previousHash = AuditChain.GENESIS_HASH;
+        long expectedSequence = 1;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int hashStart = line.lastIndexOf(AuditChain.SEPARATOR);
+                int previousStart = hashStart > 0 ? line.lastIndexOf(AuditChain.SEPARATOR, hashStart - 1) : -1;
+                if (previousStart < 0) {
+                    return "line " + lineNumber + " is malformed";
+                }
+                String payload = line.substring(0, previousStart);
+                String linkedHash = line.substring(previousStart + 1, hashStart);
+                String hash = line.substring(hashStart + 1);
+                if (!payload.startsWith(expectedSequence + "|")) {
+                    return "line " + lineNumber + " has an unexpected sequence number";
+                }
+                if (!linkedHash.equals(previousHash)) {
+                    return "line " + lineNumber + " does not link to the previous entry";
+                }
+                if (!hash.equals(AuditChain.hash(digest, previousHash, payload))) {
+                    return "line " + lineNumber + " has been modified";
+                }
+                previousHash = hash;
+                expectedSequence++;
+            }
+        }
+        return null;
+    }
+}
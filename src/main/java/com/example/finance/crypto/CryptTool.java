@@ -0,0 +1,58 @@
+package com.example.finance.crypto;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+public final class CryptTool {
+    private CryptTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.out.println("Usage: CryptTool encrypt|decrypt <input> <output> <keystore> [alias]");
+            return;
+        }
+        SecretKey key = LocalKeyStore.loadKey(Path.of(args[3]), args.length > 4 ? args[4] : "finance");
+        Path input = Path.of(args[1]);
+        Path output = Path.of(args[2]);
+
+        // Write next to the target and rename only once the last segment has been authenticated,
+        // so a tampered or truncated input never leaves partial plaintext at the output path.
+        Path parent = output.toAbsolutePath().getParent();
+        Path partial = Files.createTempFile(parent, output.getFileName().toString(), ".part");
+        long start = System.nanoTime();
+        try {
+            try (InputStream in = openInput(args[0], input, key);
+                 OutputStream out = openOutput(args[0], partial, key)) {
+                in.transferTo(out);
+            }
+            Files.move(partial, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double megabytes = Files.size(input) / (1024.0 * 1024.0);
+        System.out.printf(Locale.ROOT, "%sed %s -> %s (%.2f MB in %.2f s, %.1f MB/s)%n",
+                args[0], input, output, megabytes, seconds, megabytes / Math.max(1e-9, seconds));
+    }
+
+    private static InputStream openInput(String mode, Path input, SecretKey key) throws IOException {
+        InputStream in = Files.newInputStream(input);
+        return mode.equals("decrypt") ? new DecryptingInputStream(in, key) : in;
+    }
+
+    private static OutputStream openOutput(String mode, Path output, SecretKey key) throws IOException {
+        OutputStream out = Files.newOutputStream(output);
+        return switch (mode) {
+            case "encrypt" -> new EncryptingOutputStream(out, key);
+            case "decrypt" -> out;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.finance.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+/**
+ * Reads a stream produced by {@link EncryptingOutputStream}, authenticating and
+ * decrypting one segment at a time.
+ */
+public final class DecryptingInputStream extends InputStream {
+    private final InputStream in;
+    private final SecretKey key;
+    private final Cipher cipher = SegmentedGcm.newCipher();
+    private final byte[] header = new byte[SegmentedGcm.HEADER_LENGTH];
+    private final byte[] ciphertext;
+    private final byte[] plaintext;
+    private int plaintextPosition;
+    private int plaintextLimit;
+    private int segmentIndex;
+    private int lookahead = -1;
+    private boolean finished;
+
+    public DecryptingInputStream(InputStream in, SecretKey key) throws IOException {
+        this.in = in;
+        this.key = key;
+        if (in.readNBytes(header, 0, header.length) != header.length || !SegmentedGcm.hasMagic(header)) {
+            throw new IOException("Input is not an encrypted ledger stream");
+        }
+        int segmentSize = ByteBuffer.wrap(header, SegmentedGcm.MAGIC.length, Integer.BYTES).getInt();
+        if (segmentSize <= 0 || segmentSize > 64 * 1024 * 1024) {
+            throw new IOException("Invalid encrypted segment size: " + segmentSize);
+        }
+        this.ciphertext = new byte[segmentSize + SegmentedGcm.TAG_LENGTH];
+        this.plaintext = new byte[segmentSize];
+    }
+
+    public static boolean isEncrypted(byte[] prefix) {
+        return SegmentedGcm.hasMagic(prefix);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (plaintextPosition == plaintextLimit) {
+            if (finished) {
+                return -1;
+            }
+            openSegment();
+        }
+        int chunk = Math.min(length, plaintextLimit - plaintextPosition);
+        System.arraycopy(plaintext, plaintextPosition, bytes, offset, chunk);
+        plaintextPosition += chunk;
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void openSegment() throws IOException {
+        int length = 0;
+        if (lookahead >= 0) {
+            ciphertext[length++] = (byte) lookahead;
+        }
+        length += in.readNBytes(ciphertext, length, ciphertext.length - length);
+        lookahead = length == ciphertext.length ? in.read() : -1;
+        boolean lastSegment = lookahead < 0;
+        if (length < SegmentedGcm.TAG_LENGTH) {
+            throw new IOException("Encrypted stream is truncated at segment " + segmentIndex);
+        }
+
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, key, SegmentedGcm.nonce(header, segmentIndex++));
+            cipher.updateAAD(SegmentedGcm.associatedData(header, lastSegment));
+            plaintextLimit = cipher.doFinal(ciphertext, 0, length, plaintext, 0);
+            plaintextPosition = 0;
+            finished = lastSegment;
+        } catch (GeneralSecurityException ex) {
+            throw new IOException("Encrypted segment " + (segmentIndex - 1) + " failed authentication", ex);
+        }
+    }
+}
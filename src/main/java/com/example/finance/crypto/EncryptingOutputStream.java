@@ -0,0 +1,95 @@
+package com.example.finance.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Encrypts everything written to it in fixed-size AES-GCM segments. At most one
+ * plaintext segment is held in memory; the final segment is sealed on close.
+ */
+public final class EncryptingOutputStream extends OutputStream {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final OutputStream out;
+    private final SecretKey key;
+    private final Cipher cipher = SegmentedGcm.newCipher();
+    private final byte[] header;
+    private final byte[] plaintext;
+    private final byte[] ciphertext;
+    private int buffered;
+    private int segmentIndex;
+    private boolean closed;
+
+    public EncryptingOutputStream(OutputStream out, SecretKey key) throws IOException {
+        this(out, key, SegmentedGcm.DEFAULT_SEGMENT_SIZE);
+    }
+
+    public EncryptingOutputStream(OutputStream out, SecretKey key, int segmentSize) throws IOException {
+        this.out = out;
+        this.key = key;
+        this.plaintext = new byte[segmentSize];
+        this.ciphertext = new byte[segmentSize + SegmentedGcm.TAG_LENGTH];
+
+        byte[] noncePrefix = new byte[SegmentedGcm.NONCE_PREFIX_LENGTH];
+        RANDOM.nextBytes(noncePrefix);
+        this.header = ByteBuffer.allocate(SegmentedGcm.HEADER_LENGTH)
+                .put(SegmentedGcm.MAGIC)
+                .putInt(segmentSize)
+                .put(noncePrefix)
+                .array();
+        out.write(header);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (buffered == plaintext.length) {
+                // Only seal a full segment once more data proves it is not the last one.
+                sealSegment(false);
+            }
+            int chunk = Math.min(length, plaintext.length - buffered);
+            System.arraycopy(bytes, offset, plaintext, buffered, chunk);
+            buffered += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (out) {
+            sealSegment(true);
+        }
+    }
+
+    private void sealSegment(boolean lastSegment) throws IOException {
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, key, SegmentedGcm.nonce(header, segmentIndex++));
+            cipher.updateAAD(SegmentedGcm.associatedData(header, lastSegment));
+            int written = cipher.doFinal(plaintext, 0, buffered, ciphertext, 0);
+            out.write(ciphertext, 0, written);
+            buffered = 0;
+        } catch (GeneralSecurityException ex) {
+            throw new IOException("Failed to encrypt segment " + (segmentIndex - 1), ex);
+        }
+    }
+}
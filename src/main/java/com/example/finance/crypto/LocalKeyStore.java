@@ -0,0 +1,39 @@
+package com.example.finance.crypto;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+/**
+ * Loads the AES key used for encrypted ledgers and exports from a local PKCS12
+ * keystore, e.g. one created with
+ * {@code keytool -genseckey -keyalg AES -keysize 256 -storetype PKCS12 -alias finance -keystore finance.p12}.
+ */
+public final class LocalKeyStore {
+    public static final String PASSWORD_ENV = "FINANCE_KEYSTORE_PASSWORD";
+
+    private LocalKeyStore() {
+    }
+
+    public static SecretKey loadKey(Path keystorePath, String alias) {
+        String password = System.getenv(PASSWORD_ENV);
+        if (password == null) {
+            throw new IllegalStateException("Set " + PASSWORD_ENV + " to unlock " + keystorePath);
+        }
+        char[] secret = password.toCharArray();
+        try (InputStream stream = Files.newInputStream(keystorePath)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(stream, secret);
+            if (!(keyStore.getKey(alias, secret) instanceof SecretKey key) || !"AES".equals(key.getAlgorithm())) {
+                throw new IllegalStateException("Keystore " + keystorePath + " has no AES key under alias " + alias);
+            }
+            return key;
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to load key from " + keystorePath, ex);
+        }
+    }
+}
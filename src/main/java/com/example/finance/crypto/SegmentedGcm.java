@@ -0,0 +1,63 @@
+package com.example.finance.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Shared layout of the segmented AES-GCM stream format.
+ *
+ * <pre>
+ * header  : magic "FAE1" | segment size (int) | nonce prefix (8 bytes)
+ * segment : AES-GCM(ciphertext || 16-byte tag), one per plaintext segment
+ * </pre>
+ *
+ * Each segment uses nonce = prefix || segment index and authenticates the header
+ * plus a final-segment flag, so segments cannot be reordered, dropped or truncated.
+ */
+final class SegmentedGcm {
+    static final byte[] MAGIC = {'F', 'A', 'E', '1'};
+    static final int NONCE_PREFIX_LENGTH = 8;
+    static final int HEADER_LENGTH = MAGIC.length + Integer.BYTES + NONCE_PREFIX_LENGTH;
+    static final int TAG_LENGTH = 16;
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+
+    private SegmentedGcm() {
+    }
+
+    static Cipher newCipher() {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException ex) {
+            throw new IllegalStateException("AES-GCM is not available in this JVM", ex);
+        }
+    }
+
+    static GCMParameterSpec nonce(byte[] header, int segmentIndex) {
+        ByteBuffer nonce = ByteBuffer.allocate(NONCE_PREFIX_LENGTH + Integer.BYTES);
+        nonce.put(header, MAGIC.length + Integer.BYTES, NONCE_PREFIX_LENGTH);
+        nonce.putInt(segmentIndex);
+        return new GCMParameterSpec(TAG_LENGTH * 8, nonce.array());
+    }
+
+    static byte[] associatedData(byte[] header, boolean lastSegment) {
+        byte[] aad = new byte[header.length + 1];
+        System.arraycopy(header, 0, aad, 0, header.length);
+        aad[header.length] = (byte) (lastSegment ? 1 : 0);
+        return aad;
+    }
+
+    static boolean hasMagic(byte[] prefix) {
+        if (prefix.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (prefix[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.finance.fx;
+
+import java.util.Locale;
+
+public final class Currencies {
+    private Currencies() {
+    }
+
+    public static String symbol(String currency) {
+        return switch (currency.toUpperCase(Locale.ROOT)) {
+            case "USD" -> "$";
+            case "EUR" -> "€";
+            case "GBP" -> "£";
+            default -> currency.toUpperCase(Locale.ROOT) + " ";
+        };
+    }
+}
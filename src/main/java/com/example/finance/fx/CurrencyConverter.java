@@ -0,0 +1,54 @@
+package com.example.finance.fx;
+
+import com.example.finance.model.Transaction;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Converts transaction amounts into the reporting currency inside an aggregation scan.
+ * Ledgers are mostly date-ordered and single-currency, so the last factor is memoised
+ * and the rate table is only consulted when the currency or day changes. Instances
+ * are not thread-safe; create one per scan.
+ */
+public final class CurrencyConverter implements ToDoubleFunction<Transaction> {
+    private final FxRateTable rates;
+    private final String reportingCurrency;
+    private String lastCurrency;
+    private long lastDay = Long.MIN_VALUE;
+    private double lastFactor;
+
+    public CurrencyConverter(FxRateTable rates, String reportingCurrency) {
+        this.rates = rates;
+        this.reportingCurrency = reportingCurrency;
+    }
+
+    @Override
+    public double applyAsDouble(Transaction transaction) {
+        return transaction.amount() * factor(transaction);
+    }
+
+    // The whole row in the reporting currency, for reports that print amounts and balances.
+    public Transaction convert(Transaction transaction) {
+        if (transaction.currency().equals(reportingCurrency)) {
+            return transaction;
+        }
+        double factor = factor(transaction);
+        return new Transaction(transaction.date(), transaction.description(), transaction.category(),
+                transaction.type(), transaction.amount() * factor, transaction.balance() * factor,
+                transaction.destination(), reportingCurrency);
+    }
+
+    private double factor(Transaction transaction) {
+        String currency = transaction.currency();
+        if (currency.equals(reportingCurrency)) {
+            return 1.0;
+        }
+        long day = transaction.date().toEpochDay();
+        if (day != lastDay || !currency.equals(lastCurrency)) {
+            lastFactor = rates.factor(currency, reportingCurrency, day);
+            lastCurrency = currency;
+            lastDay = day;
+        }
+        return lastFactor;
+    }
+}
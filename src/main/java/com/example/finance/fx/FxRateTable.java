@@ -0,0 +1,154 @@
+package com.example.finance.fx;
+
+import com.example.finance.io.CsvDialect;
+import com.example.finance.io.CsvRecordReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Date-indexed FX rates loaded from a local {@code date,currency,rate} CSV, where
+ * {@code rate} is the value of one unit of {@code currency} in the base currency.
+ * Each currency's history is held as parallel epoch-day/rate arrays and looked up by
+ * binary search, carrying the latest rate on or before the requested date forward.
+ */
+public final class FxRateTable {
+    private final String baseCurrency;
+    private final Map<String, Series> series;
+
+    private FxRateTable(String baseCurrency, Map<String, Series> series) {
+        this.baseCurrency = baseCurrency;
+        this.series = series;
+    }
+
+    public static FxRateTable empty(String baseCurrency) {
+        return new FxRateTable(baseCurrency.toUpperCase(Locale.ROOT), Map.of());
+    }
+
+    public static FxRateTable load(Path path, String baseCurrency) {
+        Map<String, SeriesBuilder> builders = new HashMap<>();
+        try (Reader source = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+             CsvRecordReader reader = new CsvRecordReader(source, CsvDialect.DEFAULT)) {
+            if (!reader.next()) {
+                throw new IllegalArgumentException("FX rate file is empty: " + path);
+            }
+            while (reader.next()) {
+                if (reader.error() != null || reader.fieldCount() < 3) {
+                    throw new IllegalArgumentException("Malformed FX rate at " + path + ":" + reader.lineNumber());
+                }
+                String currency = reader.field(1).trim().toUpperCase(Locale.ROOT);
+                try {
+                    builders.computeIfAbsent(currency, ignored -> new SeriesBuilder())
+                            .add(LocalDate.parse(reader.field(0).trim()).toEpochDay(),
+                                    Double.parseDouble(reader.field(2).trim()));
+                } catch (RuntimeException ex) {
+                    throw new IllegalArgumentException("Malformed FX rate at " + path + ":" + reader.lineNumber()
+                            + ": " + ex.getMessage(), ex);
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to read FX rates from " + path, ex);
+        }
+        Map<String, Series> series = new HashMap<>();
+        builders.forEach((currency, builder) -> series.put(currency, builder.build()));
+        return new FxRateTable(baseCurrency.toUpperCase(Locale.ROOT), series);
+    }
+
+    public String baseCurrency() {
+        return baseCurrency;
+    }
+
+    public boolean supports(String currency) {
+        return currency.equalsIgnoreCase(baseCurrency) || series.containsKey(currency.toUpperCase(Locale.ROOT));
+    }
+
+    // Checked before any report runs: every currency needs a rate on or before its earliest row.
+    public void requireCoverage(Map<String, LocalDate> earliestDates) {
+        earliestDates.forEach((currency, earliest) -> {
+            if (currency.equalsIgnoreCase(baseCurrency)) {
+                return;
+            }
+            Series rates = series.get(currency.toUpperCase(Locale.ROOT));
+            if (rates == null) {
+                throw new IllegalArgumentException("No FX rates for currency " + currency);
+            }
+            LocalDate first = LocalDate.ofEpochDay(rates.days()[0]);
+            if (earliest.isBefore(first)) {
+                throw new IllegalArgumentException("FX rates for " + currency + " start on " + first
+                        + " but the ledger needs a rate on " + earliest);
+            }
+        });
+    }
+
+    public double rateToBase(String currency, long epochDay) {
+        if (currency.equalsIgnoreCase(baseCurrency)) {
+            return 1.0;
+        }
+        Series rates = series.get(currency.toUpperCase(Locale.ROOT));
+        if (rates == null) {
+            throw new IllegalArgumentException("No FX rates for currency " + currency);
+        }
+        return rates.rateOn(currency, epochDay);
+    }
+
+    public double factor(String from, String to, long epochDay) {
+        if (from.equalsIgnoreCase(to)) {
+            return 1.0;
+        }
+        return rateToBase(from, epochDay) / rateToBase(to, epochDay);
+    }
+
+    private record Series(int[] days, double[] rates) {
+        double rateOn(String currency, long epochDay) {
+            int index = Arrays.binarySearch(days, (int) epochDay);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            if (index < 0) {
+                throw new IllegalArgumentException("No FX rate for " + currency + " on or before "
+                        + LocalDate.ofEpochDay(epochDay));
+            }
+            return rates[index];
+        }
+    }
+
+    private static final class SeriesBuilder {
+        private long[] entries = new long[64];
+        private int size;
+
+        void add(long epochDay, double rate) {
+            if (!(rate > 0)) {
+                throw new IllegalArgumentException("FX rate must be positive: " + rate);
+            }
+            if (size == entries.length / 2) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[2 * size] = epochDay;
+            entries[2 * size + 1] = Double.doubleToRawLongBits(rate);
+            size++;
+        }
+
+        Series build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (left, right) -> Long.compare(entries[2 * left], entries[2 * right]));
+            int[] days = new int[size];
+            double[] rates = new double[size];
+            for (int i = 0; i < size; i++) {
+                days[i] = (int) entries[2 * order[i]];
+                rates[i] = Double.longBitsToDouble(entries[2 * order[i] + 1]);
+            }
+            return new Series(days, rates);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.finance.io;
+
+import java.util.Locale;
+
+public record CsvDialect(char delimiter, char quote, char escape) {
+    public static final char NO_ESCAPE = '\0';
+    public static final CsvDialect DEFAULT = new CsvDialect(',', '"', NO_ESCAPE);
+
+    public CsvDialect {
+        if (delimiter == quote || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid CSV delimiter: " + delimiter);
+        }
+    }
+
+    public static CsvDialect of(String delimiter, String escape) {
+        return new CsvDialect(parseChar(delimiter, ','), DEFAULT.quote(), parseChar(escape, NO_ESCAPE));
+    }
+
+    public String quoteIfNeeded(String field) {
+        boolean needsQuotes = field.indexOf(delimiter) >= 0 || field.indexOf(quote) >= 0
+                || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return field;
+        }
+        String doubled = String.valueOf(quote) + quote;
+        return quote + field.replace(String.valueOf(quote), doubled) + quote;
+    }
+
+    private static char parseChar(String value, char fallback) {
+        if (value == null || value.isEmpty()) {
+            return fallback;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "tab", "\\t" -> '\t';
+            case "backslash", "\\" -> '\\';
+            case "semicolon" -> ';';
+            case "pipe" -> '|';
+            case "comma" -> ',';
+            default -> {
+                if (value.length() != 1) {
+                    throw new IllegalArgumentException("CSV dialect characters must be a single character: " + value);
+                }
+                yield value.charAt(0);
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.finance.io;
+
+import com.example.finance.crypto.EncryptingOutputStream;
+
+import javax.crypto.SecretKey;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Collects malformed CSV rows into a side file instead of failing the run. The file
+ * is only created once the first row is quarantined, and is encrypted when a key is
+ * supplied since it holds raw ledger rows. Opening a quarantine removes any file an
+ * earlier run left at its path, plain or encrypted, so a clean run leaves none behind.
+ */
+public final class CsvQuarantine implements Closeable {
+    private final Path path;
+    private final CsvDialect dialect;
+    private final SecretKey key;
+    private BufferedWriter writer;
+    private long count;
+
+    public CsvQuarantine(Path path, CsvDialect dialect) throws IOException {
+        this(path, dialect, null);
+    }
+
+    public CsvQuarantine(Path path, CsvDialect dialect, SecretKey key) throws IOException {
+        Path encryptedPath = path.resolveSibling(path.getFileName() + ".enc");
+        this.path = key == null ? path : encryptedPath;
+        this.dialect = dialect;
+        this.key = key;
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(encryptedPath);
+    }
+
+    public void reject(long lineNumber, String reason, List<String> fields) throws IOException {
+        if (writer == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = key == null
+                    ? Files.newBufferedWriter(path)
+                    : new BufferedWriter(new OutputStreamWriter(
+                            new EncryptingOutputStream(Files.newOutputStream(path), key), StandardCharsets.UTF_8));
+            writer.write("line" + dialect.delimiter() + "reason" + dialect.delimiter() + "record");
+            writer.newLine();
+        }
+        StringBuilder record = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                record.append(dialect.delimiter());
+            }
+            record.append(dialect.quoteIfNeeded(fields.get(i)));
+        }
+        writer.write(lineNumber + String.valueOf(dialect.delimiter())
+                + dialect.quoteIfNeeded(reason) + dialect.delimiter()
+                + dialect.quoteIfNeeded(record.toString()));
+        writer.newLine();
+        count++;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.finance.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV tokenizer. Reads the input in fixed-size chunks and splits it into
+ * records with a small state machine, so quoted fields may contain delimiters,
+ * doubled quotes, escapes and line breaks. CRLF, CR and LF terminators and a
+ * leading BOM are accepted.
+ */
+public final class CsvRecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private enum State { FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED, ESCAPED }
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char quote;
+    private final char escape;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(64);
+    private final List<String> fields = new ArrayList<>();
+
+    private int position;
+    private int limit;
+    private boolean started;
+    private boolean skipLineFeed;
+    private long line = 1;
+    private long recordLine;
+    private String error;
+
+    public CsvRecordReader(Reader reader, CsvDialect dialect) {
+        this.reader = reader;
+        this.delimiter = dialect.delimiter();
+        this.quote = dialect.quote();
+        this.escape = dialect.escape();
+    }
+
+    public boolean next() throws IOException {
+        do {
+            if (!readRecord()) {
+                return false;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty() && error == null);
+        return true;
+    }
+
+    public int fieldCount() {
+        return fields.size();
+    }
+
+    public String field(int index) {
+        return fields.get(index);
+    }
+
+    public List<String> fields() {
+        return List.copyOf(fields);
+    }
+
+    public long lineNumber() {
+        return recordLine;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        error = null;
+        recordLine = line;
+        State state = State.FIELD_START;
+        boolean sawInput = false;
+
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!sawInput) {
+                    return false;
+                }
+                if (state == State.QUOTED || state == State.ESCAPED) {
+                    error = "unterminated quoted field";
+                }
+                endField();
+                return true;
+            }
+            char c = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (!started) {
+                started = true;
+                if (c == BOM) {
+                    continue;
+                }
+            }
+            sawInput = true;
+
+            switch (state) {
+                case QUOTED -> {
+                    if (c == quote) {
+                        state = State.QUOTE_IN_QUOTED;
+                    } else if (c == escape && escape != CsvDialect.NO_ESCAPE) {
+                        state = State.ESCAPED;
+                    } else {
+                        countLine(c);
+                        field.append(c);
+                    }
+                }
+                case ESCAPED -> {
+                    countLine(c);
+                    field.append(c);
+                    state = State.QUOTED;
+                }
+                case QUOTE_IN_QUOTED -> {
+                    if (c == quote) {
+                        field.append(c);
+                        state = State.QUOTED;
+                    } else if (c == delimiter) {
+                        endField();
+                        state = State.FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        endRecord(c);
+                        return true;
+                    } else {
+                        if (error == null) {
+                            error = "unexpected character after closing quote";
+                        }
+                        field.append(c);
+                        state = State.UNQUOTED;
+                    }
+                }
+                default -> {
+                    if (c == delimiter) {
+                        endField();
+                        state = State.FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        endRecord(c);
+                        return true;
+                    } else if (c == quote && state == State.FIELD_START) {
+                        state = State.QUOTED;
+                    } else {
+                        field.append(c);
+                        state = State.UNQUOTED;
+                    }
+                }
+            }
+        }
+    }
+
+    private void countLine(char c) {
+        if (c == '\n') {
+            line++;
+        }
+    }
+
+    private void endField() {
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    private void endRecord(char terminator) {
+        endField();
+        line++;
+        skipLineFeed = terminator == '\r';
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
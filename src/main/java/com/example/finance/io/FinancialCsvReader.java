@@ -1,27 +1,51 @@
 package com.example.finance.io;
 
+import com.example.finance.analysis.BalanceValidator;
 import com.example.finance.analysis.FinancialDataFrame;
+import com.example.finance.crypto.DecryptingInputStream;
 import com.example.finance.model.Transaction;
 import com.example.finance.model.TransactionType;
 
-import java.io.BufferedReader;
+import javax.crypto.SecretKey;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public final class FinancialCsvReader {
+    private static final String[] COLUMNS = {
+            "date", "description", "category", "type", "amount", "balance", "destination"
+    };
+
+    private static final String CURRENCY_COLUMN = "currency";
+    private static final String ACCOUNT_COLUMN = "account";
+    private static final String DEFAULT_ACCOUNT = "ledger";
+    private static final String DEFAULT_CURRENCY = "USD";
+
     private FinancialCsvReader() {
     }
 
     public static FinancialDataFrame readTransactions(Path csvPath) {
+        return readTransactions(csvPath, CsvDialect.DEFAULT, null, null, DEFAULT_CURRENCY, 1);
+    }
+
+    // validationThreads shards the per-account balance check; the rows themselves are parsed on the caller's thread.
+    public static FinancialDataFrame readTransactions(Path csvPath, CsvDialect dialect, CsvQuarantine quarantine,
+                                                      SecretKey key, String defaultCurrency, int validationThreads) {
         if (csvPath != null && Files.exists(csvPath)) {
-            try (BufferedReader reader = Files.newBufferedReader(csvPath)) {
-                return parseCsv(reader);
+            try (Reader reader = new InputStreamReader(openLedger(csvPath, key), StandardCharsets.UTF_8)) {
+                return parseCsv(reader, dialect, quarantine, defaultCurrency, validationThreads);
             } catch (IOException ex) {
                 throw new IllegalStateException("Failed to read CSV from " + csvPath, ex);
             }
@@ -32,39 +56,156 @@ public final class FinancialCsvReader {
             if (stream == null) {
                 throw new IllegalStateException("Sample CSV not found in resources.");
             }
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
-                return parseCsv(reader);
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                return parseCsv(reader, CsvDialect.DEFAULT, quarantine, defaultCurrency, validationThreads);
             }
         } catch (IOException ex) {
             throw new IllegalStateException("Failed to read sample CSV.", ex);
         }
     }
 
-    private static FinancialDataFrame parseCsv(BufferedReader reader) throws IOException {
+    public static long estimateFrameBytes(Path csvPath) {
+        if (csvPath == null || !Files.exists(csvPath)) {
+            return 0L;
+        }
+        try {
+            return FinancialDataFrame.estimateBytesForCsv(Files.size(csvPath));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to read CSV size of " + csvPath, ex);
+        }
+    }
+
+    private static InputStream openLedger(Path csvPath, SecretKey key) throws IOException {
+        BufferedInputStream stream = new BufferedInputStream(Files.newInputStream(csvPath));
+        stream.mark(Integer.BYTES);
+        byte[] prefix = stream.readNBytes(Integer.BYTES);
+        stream.reset();
+        if (!DecryptingInputStream.isEncrypted(prefix)) {
+            return stream;
+        }
+        if (key == null) {
+            stream.close();
+            throw new IllegalStateException(csvPath + " is encrypted; pass --keystore to decrypt it.");
+        }
+        return new DecryptingInputStream(stream, key);
+    }
+
+    private static FinancialDataFrame parseCsv(Reader source, CsvDialect dialect, CsvQuarantine quarantine,
+                                               String defaultCurrency, int validationThreads) throws IOException {
         List<Transaction> transactions = new ArrayList<>();
-        String header = reader.readLine();
-        if (header == null) {
+        CsvRecordReader reader = new CsvRecordReader(source, dialect);
+        if (!reader.next()) {
             throw new IllegalArgumentException("CSV file is empty.");
         }
+        Map<String, Integer> header = headerPositions(reader);
+        int[] columns = mapColumns(header);
+        int currencyColumn = header.getOrDefault(CURRENCY_COLUMN, -1);
+        int accountColumn = header.getOrDefault(ACCOUNT_COLUMN, -1);
+        int requiredFields = Math.max(currencyColumn, accountColumn) + 1;
+        for (int column : columns) {
+            requiredFields = Math.max(requiredFields, column + 1);
+        }
+        String ledgerCurrency = defaultCurrency.toUpperCase(Locale.ROOT);
+        Map<String, String> currencies = new HashMap<>();
+        Map<String, String> accounts = new HashMap<>();
+        try (BalanceValidator balances = new BalanceValidator(validationThreads)) {
+            while (reader.next()) {
+                String error = reader.error();
+                if (error == null && reader.fieldCount() < requiredFields) {
+                    error = "expected " + requiredFields + " fields but found " + reader.fieldCount();
+                }
+                if (error == null) {
+                    try {
+                        Transaction transaction = new Transaction(
+                                parseDate(reader.field(columns[0]).trim()),
+                                reader.field(columns[1]).trim(),
+                                reader.field(columns[2]).trim(),
+                                TransactionType.from(reader.field(columns[3])),
+                                Double.parseDouble(reader.field(columns[4])),
+                                Double.parseDouble(reader.field(columns[5])),
+                                reader.field(columns[6]).trim(),
+                                currencyColumn < 0
+                                        ? ledgerCurrency
+                                        : currency(reader.field(currencyColumn), ledgerCurrency, currencies)
+                        );
+                        transactions.add(transaction);
+                        balances.accept(reader.lineNumber(),
+                                accountColumn < 0 ? DEFAULT_ACCOUNT : account(reader.field(accountColumn), accounts),
+                                transaction);
+                        continue;
+                    } catch (DateTimeException | IllegalArgumentException ex) {
+                        error = "invalid value: " + ex.getMessage();
+                    }
+                }
+                if (quarantine == null) {
+                    throw new IllegalArgumentException(
+                            "Malformed CSV row at line " + reader.lineNumber() + ": " + error);
+                }
+                quarantine.reject(reader.lineNumber(), error, reader.fields());
+            }
+
+            return new FinancialDataFrame(transactions, balances.finish());
+        }
+    }
+
+    private static Map<String, Integer> headerPositions(CsvRecordReader header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.fieldCount(); i++) {
+            positions.putIfAbsent(header.field(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return positions;
+    }
+
+    // Currency codes repeat on every row; canonicalise them so each distinct code is one String.
+    private static String currency(String value, String ledgerCurrency, Map<String, String> currencies) {
+        String code = value.trim();
+        if (code.isEmpty()) {
+            return ledgerCurrency;
+        }
+        String canonical = currencies.get(code);
+        if (canonical == null) {
+            canonical = code.toUpperCase(Locale.ROOT);
+            currencies.put(code, canonical);
+        }
+        return canonical;
+    }
+
+    private static String account(String value, Map<String, String> accounts) {
+        String account = value.trim();
+        if (account.isEmpty()) {
+            return DEFAULT_ACCOUNT;
+        }
+        return accounts.computeIfAbsent(account, key -> key);
+    }
 
-        String line;
-        while ((line = reader.readLine()) != null) {
-            String[] parts = line.split(",", -1);
-            if (parts.length < 7) {
-                continue;
+    private static int[] mapColumns(Map<String, Integer> positions) {
+        int[] columns = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Integer position = positions.get(COLUMNS[i]);
+            if (position == null) {
+                throw new IllegalArgumentException("CSV header is missing column: " + COLUMNS[i]);
             }
-            Transaction transaction = new Transaction(
-                    LocalDate.parse(parts[0].trim()),
-                    parts[1].trim(),
-                    parts[2].trim(),
-                    TransactionType.from(parts[3]),
-                    Double.parseDouble(parts[4]),
-                    Double.parseDouble(parts[5]),
-                    parts[6].trim()
-            );
-            transactions.add(transaction);
-        }
-
-        return new FinancialDataFrame(transactions);
+            columns[i] = position;
+        }
+        return columns;
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value.length() == 10 && value.charAt(4) == '-' && value.charAt(7) == '-') {
+            return LocalDate.of(digits(value, 0, 4), digits(value, 5, 7), digits(value, 8, 10));
+        }
+        return LocalDate.parse(value);
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new DateTimeException("Text '" + value + "' could not be parsed as a date");
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
     }
 }
@@ -0,0 +1,302 @@
+package com.example.finance.loadtest;
+
+import com.example.finance.sampling.Seeds;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes synthetic multi-account ledgers in the CLI's CSV schema, laid out like a statement
+ * export: one block per account, each in date order with its own running-balance chain. Every
+ * account is rendered from its own derived seed, so the output is byte-identical for a given seed
+ * regardless of the thread count. At the end of the first day of each month, an account whose
+ * balance has left {@link #LOW_BALANCE_CENTS}..{@link #HIGH_BALANCE_CENTS} gets a savings sweep
+ * back to {@link #TARGET_BALANCE_CENTS}, which keeps balances in a realistic range over any span.
+ */
+public final class LedgerGenerator {
+    static final String HEADER = "date,description,category,type,amount,balance,destination,account\n";
+    // About nine rows per account per day over the three-year span.
+    private static final long DEFAULT_ROWS_PER_ACCOUNT = 10_000;
+    // Bounds the bytes one worker holds for an account block.
+    private static final long MAX_ACCOUNT_ROWS = 1 << 16;
+    private static final int SPAN_DAYS = 3 * 365;
+    private static final LocalDate START = LocalDate.of(2022, 1, 1);
+    private static final long TARGET_BALANCE_CENTS = 25_000_00L;
+    private static final long LOW_BALANCE_CENTS = 5_000_00L;
+    private static final long HIGH_BALANCE_CENTS = 50_000_00L;
+
+    private static final Recurring[] RECURRING = {
+            new Recurring(1, "Monthly Salary", "Income", true, 5_200_00L, "Employer Inc"),
+            new Recurring(3, "Payment - Rent", "Housing", false, 1_450_00L, "Landlord LLC"),
+            new Recurring(15, "Payment - Utilities", "Utilities", false, 185_00L, "Utility Co"),
+            new Recurring(18, "Streaming Service", "Entertainment", false, 12_99L, "StreamNow"),
+            new Recurring(20, "Payment - Gym", "Health", false, 49_00L, "City Gym"),
+            new Recurring(25, "Payment - Insurance", "Insurance", false, 96_40L, "SafeCover")
+    };
+    private static final Spend[] SPEND = {
+            new Spend("Payment - Grocery", "Groceries", 65_00L, 12, new String[]{"Fresh Market", "Corner Grocer", "Bulk Foods"}),
+            new Spend("Payment - Coffee", "Food & Dining", 5_50L, 12, new String[]{"Coffee Shop", "Bean Bar"}),
+            new Spend("Payment - Restaurant", "Food & Dining", 38_00L, 12, new String[]{"Bistro 21", "Noodle House", "Taqueria"}),
+            new Spend("Payment - Transit", "Transport", 12_00L, 0, new String[]{"Metro", "City Bus"}),
+            new Spend("Payment - Fuel", "Transport", 55_00L, 7, new String[]{"FuelStop", "Highway Gas"}),
+            new Spend("Payment - Shopping", "Shopping", 80_00L, 12, new String[]{"MegaMart", "Online Store", "Outlet Mall"}),
+            new Spend("Payment - Flight", "Travel", 420_00L, 7, new String[]{"Airline", "Budget Air"}),
+            new Spend("Payment - Hotel", "Travel", 180_00L, 7, new String[]{"Harbor Hotel", "City Inn"}),
+            new Spend("Payment - Pharmacy", "Health", 24_00L, 1, new String[]{"Pharmacy Plus"})
+    };
+    // Relative frequency of each SPEND entry.
+    private static final int[] SPEND_WEIGHTS = {22, 20, 12, 14, 8, 12, 2, 2, 8};
+    private static final int CREDIT_PERCENT = 12;
+
+    private final long rows;
+    private final long seed;
+    private final double anomalyRate;
+    private final int accounts;
+    private final int spendWeightTotal;
+
+    public LedgerGenerator(long rows, long seed, double anomalyRate) {
+        this(rows, seed, anomalyRate, 0);
+    }
+
+    // accounts <= 0 picks about DEFAULT_ROWS_PER_ACCOUNT rows per account.
+    public LedgerGenerator(long rows, long seed, double anomalyRate, int accounts) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Row count must not be negative: " + rows);
+        }
+        this.rows = rows;
+        this.seed = seed;
+        this.anomalyRate = anomalyRate;
+        long requested = accounts > 0
+                ? accounts
+                : (rows + DEFAULT_ROWS_PER_ACCOUNT - 1) / DEFAULT_ROWS_PER_ACCOUNT;
+        this.accounts = (int) Math.max(1, Math.max(requested, (rows + MAX_ACCOUNT_ROWS - 1) / MAX_ACCOUNT_ROWS));
+        int total = 0;
+        for (int weight : SPEND_WEIGHTS) {
+            total += weight;
+        }
+        this.spendWeightTotal = total;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> parsed = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            parsed.put(args[i], args[i + 1]);
+        }
+        if (!parsed.containsKey("--out") || !parsed.containsKey("--rows")) {
+            System.out.println("Usage: LedgerGenerator --out <csv> --rows <count> [--seed <seed>] "
+                    + "[--accounts <count>] [--threads <count>] [--anomaly-rate <fraction>]");
+            return;
+        }
+        Path output = Path.of(parsed.get("--out"));
+        LedgerGenerator generator = new LedgerGenerator(Long.parseLong(parsed.get("--rows")),
+                Long.parseLong(parsed.getOrDefault("--seed", "42")),
+                Double.parseDouble(parsed.getOrDefault("--anomaly-rate", "0.0005")),
+                Integer.parseInt(parsed.getOrDefault("--accounts", "0")));
+        int threads = parsed.containsKey("--threads")
+                ? Integer.parseInt(parsed.get("--threads"))
+                : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        long bytes = generator.write(output, threads);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double megabytes = bytes / (1024.0 * 1024.0);
+        System.out.printf(Locale.ROOT, "Generated %d rows in %d accounts -> %s (%.2f MB in %.2f s, %.1f MB/s)%n",
+                generator.rows, generator.accounts, output, megabytes, seconds,
+                megabytes / Math.max(1e-9, seconds));
+    }
+
+    public long write(Path output, int threads) throws IOException {
+        if (output.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+        }
+        int workers = Math.max(1, threads);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "ledger-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (OutputStream out = Files.newOutputStream(output)) {
+            byte[] header = HEADER.getBytes(StandardCharsets.US_ASCII);
+            out.write(header);
+            long written = header.length;
+            // Keep a bounded window of rendered accounts in flight and write them strictly in order.
+            ArrayDeque<Future<byte[]>> window = new ArrayDeque<>();
+            int next = 0;
+            while (next < accounts || !window.isEmpty()) {
+                while (next < accounts && window.size() < workers * 2) {
+                    int account = next++;
+                    window.add(pool.submit(() -> render(account)));
+                }
+                byte[] bytes = await(window.poll());
+                out.write(bytes);
+                written += bytes.length;
+            }
+            return written;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private byte[] render(int account) {
+        long accountRows = rows / accounts + (account < rows % accounts ? 1 : 0);
+        int rowsPerDay = (int) Math.max(RECURRING.length + 1, (accountRows + SPAN_DAYS - 1) / SPAN_DAYS);
+        StringBuilder builder = new StringBuilder((int) accountRows * 100);
+        SplittableRandom random = new SplittableRandom(Seeds.derive(seed, account));
+        String name = accountName(account);
+        long balance = LOW_BALANCE_CENTS + random.nextLong(HIGH_BALANCE_CENTS - 2 * LOW_BALANCE_CENTS);
+        long currentDay = -1;
+        String date = null;
+        int month = 1;
+        boolean sweepDay = false;
+        Recurring[] due = new Recurring[RECURRING.length];
+        int dueCount = 0;
+
+        for (long row = 0; row < accountRows; row++) {
+            long day = row / rowsPerDay;
+            if (day != currentDay) {
+                currentDay = day;
+                LocalDate localDate = START.plusDays(day);
+                date = localDate.toString();
+                month = localDate.getMonthValue();
+                sweepDay = localDate.getDayOfMonth() == 1;
+                dueCount = 0;
+                for (Recurring recurring : RECURRING) {
+                    if (recurring.dayOfMonth() == localDate.getDayOfMonth()) {
+                        due[dueCount++] = recurring;
+                    }
+                }
+            }
+            int slot = (int) (row % rowsPerDay);
+
+            String description;
+            String category;
+            String destination;
+            boolean credit;
+            long cents;
+            // The sweep takes the day's last slot, after the recurring rows that open the day.
+            if (sweepDay && slot == rowsPerDay - 1
+                    && (balance < LOW_BALANCE_CENTS || balance > HIGH_BALANCE_CENTS)) {
+                description = "Savings Sweep";
+                category = "Transfers";
+                destination = "Savings Account";
+                credit = balance < TARGET_BALANCE_CENTS;
+                cents = Math.abs(TARGET_BALANCE_CENTS - balance);
+            } else if (slot < dueCount) {
+                Recurring recurring = due[slot];
+                description = recurring.description();
+                category = recurring.category();
+                destination = recurring.destination();
+                credit = recurring.credit();
+                // Fixed subscriptions stay exact; salaries and bills drift by up to +/-3%.
+                double jitter = recurring.baseCents() < 100_00L ? 1.0 : 0.97 + random.nextDouble() * 0.06;
+                cents = Math.round(recurring.baseCents() * jitter);
+            } else if (random.nextInt(100) < CREDIT_PERCENT) {
+                description = "Transfer In";
+                category = "Income";
+                destination = "Savings Account";
+                credit = true;
+                cents = 300_00L + random.nextLong(200_00L);
+            } else {
+                Spend spend = pickSpend(random.nextInt(spendWeightTotal));
+                description = spend.description();
+                category = spend.category();
+                destination = spend.merchants()[random.nextInt(spend.merchants().length)];
+                credit = false;
+                double amount = spend.baseCents() * seasonalFactor(spend.peakMonth(), month)
+                        * Math.exp(0.45 * random.nextGaussian());
+                cents = Math.max(1L, Math.round(amount));
+            }
+
+            long printedOffset = 0;
+            if (!category.equals("Transfers") && random.nextDouble() < anomalyRate) {
+                if (random.nextInt(10) == 0) {
+                    // A broken balance link: the printed balance is off but the true chain continues.
+                    printedOffset = (random.nextBoolean() ? 1 : -1) * (1_00L + random.nextLong(100_00L));
+                } else if (!credit) {
+                    // Spikes are card spend at an unfamiliar merchant, never a salary or transfer in.
+                    cents *= 15 + random.nextInt(30);
+                    destination = "Unknown Merchant";
+                }
+            }
+
+            balance += credit ? cents : -cents;
+            builder.append(date).append(',')
+                    .append(description).append(',')
+                    .append(category).append(',')
+                    .append(credit ? "CREDIT" : "DEBIT").append(',');
+            appendCents(builder, cents).append(',');
+            appendCents(builder, balance + printedOffset).append(',')
+                    .append(destination).append(',')
+                    .append(name).append('\n');
+        }
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private String accountName(int account) {
+        String digits = Integer.toString(account + 1);
+        return "ACC-" + "0".repeat(Math.max(0, Integer.toString(accounts).length() - digits.length())) + digits;
+    }
+
+    private Spend pickSpend(int ticket) {
+        for (int i = 0; i < SPEND.length; i++) {
+            ticket -= SPEND_WEIGHTS[i];
+            if (ticket < 0) {
+                return SPEND[i];
+            }
+        }
+        return SPEND[SPEND.length - 1];
+    }
+
+    // peakMonth 0 means the category has no seasonality.
+    private static double seasonalFactor(int peakMonth, int month) {
+        if (peakMonth == 0) {
+            return 1.0;
+        }
+        return 1.0 + 0.35 * Math.cos(2 * Math.PI * (month - peakMonth) / 12.0);
+    }
+
+    private static StringBuilder appendCents(StringBuilder builder, long cents) {
+        if (cents < 0) {
+            builder.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        builder.append(cents / 100).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating ledger", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Ledger chunk generation failed", ex.getCause());
+        }
+    }
+
+    private record Recurring(int dayOfMonth, String description, String category, boolean credit,
+                             long baseCents, String destination) {
+    }
+
+    private record Spend(String description, String category, long baseCents, int peakMonth,
+                         String[] merchants) {
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.finance.loadtest;
+
+import com.example.finance.FinancialAnalysisApp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the full CLI as a child JVM against generated ledgers of increasing size and writes
+ * {@code loadtest-report.csv} and {@code loadtest-report.md}. Peak RSS is the child's VmHWM from
+ * /proc (Linux only) and GC pauses come from its unified GC log. Passing an earlier report as
+ * {@code --baseline} adds relative change columns, so runs on the same machine can be compared.
+ */
+public final class LoadTestDriver {
+    private static final String DEFAULT_SIZES = "10000,100000,1000000";
+    private static final Pattern GC_PAUSE = Pattern.compile("Pause.* (\\d+(?:\\.\\d+)?)ms$");
+    private static final String CSV_HEADER =
+            "rows,ledger_bytes,exit_code,wall_ms,rows_per_sec,peak_rss_kb,gc_pauses,gc_pause_total_ms,gc_pause_max_ms";
+
+    private LoadTestDriver() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> parsed = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            parsed.put(args[i], args[i + 1]);
+        }
+        Path workDir = Path.of(parsed.getOrDefault("--work-dir", "target/loadtest"));
+        long seed = Long.parseLong(parsed.getOrDefault("--seed", "42"));
+        int threads = parsed.containsKey("--threads")
+                ? Integer.parseInt(parsed.get("--threads"))
+                : Runtime.getRuntime().availableProcessors();
+        List<String> jvmArgs = splitWords(parsed.getOrDefault("--jvm-args", ""));
+        List<String> appArgs = splitWords(parsed.getOrDefault("--app-args", ""));
+        Path baseline = parsed.containsKey("--baseline") ? Path.of(parsed.get("--baseline")) : null;
+        Files.createDirectories(workDir);
+        // The child runs as the same OS user, so grant that user the ledger of the tenant it will open.
+        Files.writeString(workDir.resolve(tenant(appArgs) + ".roles"),
+                System.getProperty("user.name") + "=Administrator Role\n", StandardCharsets.UTF_8);
+
+        List<Result> results = new ArrayList<>();
+        for (String size : parsed.getOrDefault("--sizes", DEFAULT_SIZES).split(",")) {
+            long rows = Long.parseLong(size.trim());
+            Path ledger = workDir.resolve("ledger-" + rows + "-" + seed + ".csv");
+            if (!Files.exists(ledger)) {
+                System.out.printf(Locale.ROOT, "Generating %d rows -> %s%n", rows, ledger);
+                new LedgerGenerator(rows, seed, 0.0005).write(ledger, threads);
+            }
+            Result result = runApp(workDir, ledger, rows, jvmArgs, appArgs);
+            results.add(result);
+            System.out.printf(Locale.ROOT,
+                    "%,d rows: exit %d, %d ms, peak RSS %s, %d GC pauses (%.1f ms total, %.1f ms max)%n",
+                    rows, result.exitCode(), result.wallMillis(), kilobytes(result.peakRssKb()),
+                    result.gcPauses(), result.gcPauseTotalMillis(), result.gcPauseMaxMillis());
+        }
+
+        Path csv = workDir.resolve("loadtest-report.csv");
+        Path markdown = workDir.resolve("loadtest-report.md");
+        Files.write(csv, csvLines(results), StandardCharsets.UTF_8);
+        Files.writeString(markdown, markdown(results, jvmArgs, appArgs, seed,
+                baseline != null ? readBaseline(baseline) : Map.of()), StandardCharsets.UTF_8);
+        System.out.println("Load test report written to " + markdown.toAbsolutePath());
+    }
+
+    private static Result runApp(Path workDir, Path ledger, long rows, List<String> jvmArgs, List<String> appArgs)
+            throws IOException, InterruptedException {
+        Path runDir = workDir.resolve("run-" + rows);
+        Files.createDirectories(runDir);
+        Path gcLog = runDir.resolve("gc.log");
+        Files.deleteIfExists(gcLog);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-Xlog:gc:file=" + gcLog);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(FinancialAnalysisApp.class.getName());
+        command.addAll(List.of("--csv", ledger.toString(), "--export-dir", runDir.resolve("out").toString(),
+                "--roles-dir", workDir.toString()));
+        command.addAll(appArgs);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(runDir.resolve("console.txt").toFile())
+                .start();
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        long peakRssKb = -1;
+        // VmHWM is the kernel's own high-water mark, so polling only has to catch it before exit.
+        while (!process.waitFor(50, TimeUnit.MILLISECONDS)) {
+            peakRssKb = Math.max(peakRssKb, readHighWaterMark(status));
+        }
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int pauses = 0;
+        double totalPause = 0;
+        double maxPause = 0;
+        if (Files.exists(gcLog)) {
+            try (BufferedReader reader = Files.newBufferedReader(gcLog, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher matcher = GC_PAUSE.matcher(line);
+                    if (matcher.find()) {
+                        double millis = Double.parseDouble(matcher.group(1));
+                        pauses++;
+                        totalPause += millis;
+                        maxPause = Math.max(maxPause, millis);
+                    }
+                }
+            }
+        }
+        return new Result(rows, Files.size(ledger), process.exitValue(), wallMillis, peakRssKb,
+                pauses, totalPause, maxPause);
+    }
+
+    private static long readHighWaterMark(Path status) {
+        try {
+            for (String line : Files.readAllLines(status, StandardCharsets.US_ASCII)) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | UncheckedIOException ex) {
+            // The process exited between polls or /proc is unavailable on this platform.
+        }
+        return -1;
+    }
+
+    private static List<String> csvLines(List<Result> results) {
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        for (Result result : results) {
+            lines.add(String.format(Locale.ROOT, "%d,%d,%d,%d,%.0f,%d,%d,%.3f,%.3f", result.rows(), result.ledgerBytes(),
+                    result.exitCode(), result.wallMillis(), result.rowsPerSecond(), result.peakRssKb(),
+                    result.gcPauses(), result.gcPauseTotalMillis(), result.gcPauseMaxMillis()));
+        }
+        return lines;
+    }
+
+    private static Map<Long, Result> readBaseline(Path baseline) throws IOException {
+        Map<Long, Result> byRows = new HashMap<>();
+        List<String> lines = Files.readAllLines(baseline, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(CSV_HEADER)) {
+            throw new IllegalArgumentException("Not a load test report: " + baseline);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",");
+            Result result = new Result(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    Integer.parseInt(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[5]),
+                    Integer.parseInt(fields[6]), Double.parseDouble(fields[7]), Double.parseDouble(fields[8]));
+            byRows.put(result.rows(), result);
+        }
+        return byRows;
+    }
+
+    private static String markdown(List<Result> results, List<String> jvmArgs, List<String> appArgs, long seed,
+                                   Map<Long, Result> baseline) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("# Load Test Report\n\n")
+                .append("- Generated: ").append(Instant.now()).append('\n')
+                .append("- JVM: ").append(System.getProperty("java.vm.name")).append(' ')
+                .append(System.getProperty("java.version")).append('\n')
+                .append("- Cores: ").append(Runtime.getRuntime().availableProcessors()).append('\n')
+                .append("- JVM args: `").append(String.join(" ", jvmArgs)).append("`\n")
+                .append("- App args: `").append(String.join(" ", appArgs)).append("`\n")
+                .append("- Ledger seed: ").append(seed).append("\n\n");
+        builder.append("| Rows | Ledger MB | Exit | Wall ms | Rows/s | Peak RSS MB | GC pauses | GC total ms | GC max ms |");
+        builder.append(baseline.isEmpty() ? "\n" : " Δ wall | Δ RSS | Δ GC total |\n");
+        builder.append("| ---: | ---: | ---: | ---: | ---: | ---: | ---: | ---: | ---: |");
+        builder.append(baseline.isEmpty() ? "\n" : " ---: | ---: | ---: |\n");
+        for (Result result : results) {
+            builder.append(String.format(Locale.ROOT, "| %,d | %.1f | %d | %,d | %,.0f | %s | %d | %.1f | %.1f |",
+                    result.rows(), result.ledgerBytes() / (1024.0 * 1024.0), result.exitCode(),
+                    result.wallMillis(), result.rowsPerSecond(), megabytes(result.peakRssKb()),
+                    result.gcPauses(), result.gcPauseTotalMillis(), result.gcPauseMaxMillis()));
+            Result before = baseline.get(result.rows());
+            if (before != null) {
+                builder.append(' ').append(change(before.wallMillis(), result.wallMillis()))
+                        .append(" | ").append(change(before.peakRssKb(), result.peakRssKb()))
+                        .append(" | ").append(change(before.gcPauseTotalMillis(), result.gcPauseTotalMillis()))
+                        .append(" |");
+            } else if (!baseline.isEmpty()) {
+                builder.append(" n/a | n/a | n/a |");
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String change(double before, double after) {
+        if (before <= 0 || after < 0) {
+            return "n/a";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (after - before) * 100.0 / before);
+    }
+
+    private static String megabytes(long kilobytes) {
+        return kilobytes < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", kilobytes / 1024.0);
+    }
+
+    private static String kilobytes(long kilobytes) {
+        return kilobytes < 0 ? "n/a" : megabytes(kilobytes) + " MB";
+    }
+
+    // The last --tenant wins, as in CliOptions.
+    private static String tenant(List<String> appArgs) {
+        String tenant = "default";
+        for (int i = 0; i + 1 < appArgs.size(); i++) {
+            if (appArgs.get(i).equals("--tenant")) {
+                tenant = appArgs.get(i + 1);
+            }
+        }
+        if (!tenant.matches("[A-Za-z0-9_-]+")) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenant);
+        }
+        return tenant;
+    }
+
+    private static List<String> splitWords(String value) {
+        List<String> words = new ArrayList<>();
+        for (String word : value.trim().split("\\s+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private record Result(long rows, long ledgerBytes, int exitCode, long wallMillis, long peakRssKb,
+                          int gcPauses, double gcPauseTotalMillis, double gcPauseMaxMillis) {
+        double rowsPerSecond() {
+            return rows * 1000.0 / Math.max(1, wallMillis);
+        }
+    }
+}
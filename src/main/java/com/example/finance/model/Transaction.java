@@ -1,5 +1,7 @@
 package com.example.finance.model;
 
+import com.example.finance.util.FixedWidth;
+
 import java.time.LocalDate;
 
 public record Transaction(
@@ -9,19 +11,15 @@ public record Transaction(
         TransactionType type,
         double amount,
         double balance,
-        String destination
+        String destination,
+        String currency
 ) {
+    public double signedAmount() {
+        return type == TransactionType.CREDIT ? amount : -amount;
+    }
+
     @Override
     public String toString() {
-        return String.format(
-                "%s | %-15s | %-12s | %-6s | %8.2f | %10.2f | %s",
-                date,
-                category,
-                description,
-                type,
-                amount,
-                balance,
-                destination
-        );
+        return FixedWidth.transaction(new StringBuilder(96), this).toString();
     }
 }
@@ -0,0 +1,119 @@
+package com.example.finance.report;
+
+import com.example.finance.model.Transaction;
+
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * One JSON object per line. Every object carries the current section; records carry
+ * their named fields, transactions their columns and free text a {@code text} field.
+ */
+final class NdjsonReportOutput extends ReportOutput {
+    NdjsonReportOutput(Writer sink) {
+        super(sink);
+    }
+
+    @Override
+    public String mode() {
+        return "ndjson";
+    }
+
+    @Override
+    protected void sectionHeader(String title, boolean underline) {
+    }
+
+    @Override
+    public void banner(String title) {
+    }
+
+    @Override
+    public void endSection() {
+    }
+
+    @Override
+    public void text(String text) {
+        begin();
+        field("text", text);
+        end();
+    }
+
+    @Override
+    public void metric(String label, double value) {
+        begin();
+        field("metric", label);
+        field("value", value);
+        end();
+    }
+
+    @Override
+    public void record(String text, Object... fields) {
+        begin();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            field(String.valueOf(fields[i]), fields[i + 1]);
+        }
+        end();
+    }
+
+    @Override
+    public void transaction(String prefix, Transaction transaction) {
+        begin();
+        field("date", transaction.date());
+        field("description", transaction.description());
+        field("category", transaction.category());
+        field("type", transaction.type().name());
+        field("amount", transaction.amount());
+        field("balance", transaction.balance());
+        field("destination", transaction.destination());
+        field("currency", transaction.currency());
+        end();
+    }
+
+    private void begin() {
+        line.append("{\"section\":");
+        string(currentSection());
+    }
+
+    private void end() {
+        line.append('}');
+        emitLine();
+    }
+
+    private void field(String name, Object value) {
+        line.append(',');
+        string(name);
+        line.append(':');
+        if (value instanceof Double number && Double.isFinite(number)) {
+            // Full precision: consumers of this mode do their own rounding.
+            line.append(number.doubleValue());
+        } else if (value instanceof Integer || value instanceof Long) {
+            line.append(value);
+        } else if (value == null) {
+            line.append("null");
+        } else {
+            string(value.toString());
+        }
+    }
+
+    private void string(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
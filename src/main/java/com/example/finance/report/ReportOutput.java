@@ -0,0 +1,119 @@
+package com.example.finance.report;
+
+import com.example.finance.model.Transaction;
+
+import java.io.BufferedWriter;
+import java.io.CharArrayWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Sink for everything the CLI reports. Lines are assembled in a reusable builder and
+ * written to a large buffered writer instead of the synchronized, frequently flushed
+ * {@code System.out}. Subclasses decide how sections, text and records are rendered.
+ */
+public abstract class ReportOutput implements Flushable {
+    private static final int CONSOLE_BUFFER_SIZE = 1 << 16;
+
+    protected final StringBuilder line = new StringBuilder(256);
+    private final Writer sink;
+    private char[] chars = new char[256];
+    private String section = "";
+
+    protected ReportOutput(Writer sink) {
+        this.sink = sink;
+    }
+
+    public static ReportOutput console(String mode) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), Charset.defaultCharset()), CONSOLE_BUFFER_SIZE);
+        return create(mode, writer);
+    }
+
+    public static ReportOutput create(String mode, Writer sink) {
+        return switch (mode.toLowerCase(Locale.ROOT)) {
+            case "text" -> new TextReportOutput(sink);
+            case "ndjson" -> new NdjsonReportOutput(sink);
+            default -> throw new IllegalArgumentException("Unknown output mode: " + mode);
+        };
+    }
+
+    public abstract String mode();
+
+    public ReportOutput fork() {
+        return create(mode(), new CharArrayWriter(4096));
+    }
+
+    // Returns whether the fork held any output.
+    public boolean appendTo(ReportOutput target) {
+        if (!(sink instanceof CharArrayWriter buffer)) {
+            throw new IllegalStateException("Only forked outputs can be appended to another output");
+        }
+        try {
+            buffer.writeTo(target.sink);
+            return buffer.size() > 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void section(String title) {
+        section = title;
+        sectionHeader(title, true);
+    }
+
+    public void label(String title) {
+        section = title;
+        sectionHeader(title, false);
+    }
+
+    // Decorative title at the top of a run; machine-readable modes leave it out.
+    public abstract void banner(String title);
+
+    public abstract void endSection();
+
+    public abstract void text(String text);
+
+    public abstract void metric(String label, double value);
+
+    public abstract void record(String text, Object... fields);
+
+    public abstract void transaction(String prefix, Transaction transaction);
+
+    protected abstract void sectionHeader(String title, boolean underline);
+
+    protected String currentSection() {
+        return section;
+    }
+
+    protected final void emitLine() {
+        int length = line.length();
+        if (chars.length < length + 1) {
+            chars = new char[Math.max(length + 1, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        chars[length] = '\n';
+        line.setLength(0);
+        try {
+            sink.write(chars, 0, length + 1);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write report output", ex);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            sink.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to flush report output", ex);
+        }
+    }
+}
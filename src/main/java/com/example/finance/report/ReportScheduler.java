@@ -0,0 +1,122 @@
+package com.example.finance.report;
+
+import com.example.finance.audit.AuditLog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs report steps as a dependency DAG on a thread pool. Steps only read the shared
+ * frame; each one writes into a forked {@link ReportOutput}, and the forks are appended
+ * to the target output in registration order so the result matches a sequential run.
+ */
+public final class ReportScheduler {
+    private final Map<String, ReportStep> steps = new LinkedHashMap<>();
+    private final Set<String> knownSteps = new LinkedHashSet<>();
+    private final AuditLog auditLog;
+    private final int threads;
+    private final Set<String> selected;
+    private Instant firstReportOutput;
+
+    public ReportScheduler(AuditLog auditLog, int threads) {
+        this(auditLog, threads, Set.of());
+    }
+
+    // An empty selection runs every step; otherwise unselected steps are never registered.
+    public ReportScheduler(AuditLog auditLog, int threads, Set<String> selected) {
+        this.auditLog = auditLog;
+        this.threads = Math.max(1, threads);
+        this.selected = Set.copyOf(selected);
+    }
+
+    public ReportScheduler add(String name, Consumer<ReportOutput> body, String... dependsOn) {
+        if (!knownSteps.add(name)) {
+            throw new IllegalArgumentException("Duplicate report step: " + name);
+        }
+        for (String dependency : dependsOn) {
+            if (!knownSteps.contains(dependency)) {
+                throw new IllegalArgumentException("Step " + name + " depends on unknown step " + dependency);
+            }
+        }
+        if (selected.isEmpty() || selected.contains(name)) {
+            List<String> registered = Arrays.stream(dependsOn).filter(steps::containsKey).toList();
+            steps.put(name, new ReportStep(name, body, registered));
+        }
+        return this;
+    }
+
+    public List<String> stepNames() {
+        return List.copyOf(steps.keySet());
+    }
+
+    // When the first step that printed anything reached the output; the startup metric for a run.
+    public Optional<Instant> firstReportOutput() {
+        return Optional.ofNullable(firstReportOutput);
+    }
+
+    public void run(ReportOutput output) {
+        for (String name : selected) {
+            if (!knownSteps.contains(name)) {
+                throw new IllegalArgumentException("Unknown report " + name + "; available: " + knownSteps);
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "report-step");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, CompletableFuture<ReportOutput>> futures = new LinkedHashMap<>();
+            for (ReportStep step : steps.values()) {
+                CompletableFuture<?>[] dependencies = step.dependsOn().stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                futures.put(step.name(), CompletableFuture.allOf(dependencies)
+                        .thenApplyAsync(ignored -> capture(step, output), executor));
+            }
+            appendInOrder(new ArrayList<>(futures.values()), output);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ReportOutput capture(ReportStep step, ReportOutput output) {
+        ReportOutput buffer = output.fork();
+        auditLog.record("report.run", step.name());
+        step.body().accept(buffer);
+        return buffer;
+    }
+
+    private void appendInOrder(List<CompletableFuture<ReportOutput>> futures, ReportOutput output) {
+        for (CompletableFuture<ReportOutput> future : futures) {
+            ReportOutput buffer;
+            try {
+                buffer = future.join();
+            } catch (CompletionException ex) {
+                output.flush();
+                if (ex.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw ex;
+            }
+            boolean printed = buffer.appendTo(output);
+            output.flush();
+            if (printed && firstReportOutput == null) {
+                firstReportOutput = Instant.now();
+            }
+        }
+        output.flush();
+    }
+}
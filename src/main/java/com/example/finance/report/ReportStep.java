@@ -0,0 +1,7 @@
+package com.example.finance.report;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public record ReportStep(String name, Consumer<ReportOutput> body, List<String> dependsOn) {
+}
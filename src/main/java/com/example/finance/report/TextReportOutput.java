@@ -0,0 +1,65 @@
+package com.example.finance.report;
+
+import com.example.finance.model.Transaction;
+import com.example.finance.util.FixedWidth;
+
+import java.io.Writer;
+
+final class TextReportOutput extends ReportOutput {
+    TextReportOutput(Writer sink) {
+        super(sink);
+    }
+
+    @Override
+    public String mode() {
+        return "text";
+    }
+
+    @Override
+    protected void sectionHeader(String title, boolean underline) {
+        line.append(title);
+        emitLine();
+        if (underline) {
+            line.append("-".repeat(title.length()));
+            emitLine();
+        }
+    }
+
+    @Override
+    public void banner(String title) {
+        line.append(title);
+        emitLine();
+        line.append("=".repeat(title.length()));
+        emitLine();
+    }
+
+    @Override
+    public void endSection() {
+        emitLine();
+    }
+
+    @Override
+    public void text(String text) {
+        line.append(text);
+        emitLine();
+    }
+
+    @Override
+    public void metric(String label, double value) {
+        line.append(label).append(": ");
+        FixedWidth.decimal2(line, value);
+        emitLine();
+    }
+
+    @Override
+    public void record(String text, Object... fields) {
+        text(text);
+    }
+
+    @Override
+    public void transaction(String prefix, Transaction transaction) {
+        line.append(prefix);
+        FixedWidth.transaction(line, transaction);
+        emitLine();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.finance.sampling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bounded max-heap of (key, item) pairs that retains the {@code capacity} smallest
+ * keys. Both samplers assign each item a random key and keep the smallest ones, so
+ * two reservoirs merge exactly by keeping the smallest keys of their union.
+ */
+final class KeyedReservoir<T> {
+    private final int capacity;
+    private final double[] keys;
+    private final Object[] items;
+    private int size;
+
+    KeyedReservoir(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Sample size must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new double[capacity];
+        this.items = new Object[capacity];
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    double maxKey() {
+        return keys[0];
+    }
+
+    void offer(double key, T item) {
+        if (size < capacity) {
+            keys[size] = key;
+            items[size] = item;
+            siftUp(size++);
+        } else if (key < keys[0]) {
+            replaceMax(key, item);
+        }
+    }
+
+    void replaceMax(double key, T item) {
+        keys[0] = key;
+        items[0] = item;
+        siftDown(0);
+    }
+
+    void mergeFrom(KeyedReservoir<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.keys[i], other.item(i));
+        }
+    }
+
+    List<T> itemsByKey() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> keys[i]));
+        List<T> result = new ArrayList<>(size);
+        for (int index : order) {
+            result.add(item(index));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int index) {
+        return (T) items[index];
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (keys[parent] >= keys[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && keys[left] > keys[largest]) {
+                largest = left;
+            }
+            if (right < size && keys[right] > keys[largest]) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(index, largest);
+            index = largest;
+        }
+    }
+
+    private void swap(int left, int right) {
+        double key = keys[left];
+        keys[left] = keys[right];
+        keys[right] = key;
+        Object item = items[left];
+        items[left] = items[right];
+        items[right] = item;
+    }
+}
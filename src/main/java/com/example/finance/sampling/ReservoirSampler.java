@@ -0,0 +1,61 @@
+package com.example.finance.sampling;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Uniform single-pass sample of fixed size using Li's Algorithm L: once the reservoir
+ * is full, the number of items to skip before the next replacement is drawn from a
+ * geometric distribution, so only O(k log(n/k)) random numbers are needed.
+ */
+public final class ReservoirSampler<T> {
+    private final KeyedReservoir<T> reservoir;
+    private final SplittableRandom random;
+    private long seen;
+    private long nextReplacement;
+
+    public ReservoirSampler(int size, long seed) {
+        this.reservoir = new KeyedReservoir<>(size);
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void accept(T item) {
+        long index = seen++;
+        if (!reservoir.isFull()) {
+            reservoir.offer(uniform(), item);
+            if (reservoir.isFull()) {
+                scheduleNextReplacement();
+            }
+        } else if (index == nextReplacement) {
+            reservoir.replaceMax(reservoir.maxKey() * uniform(), item);
+            scheduleNextReplacement();
+        }
+    }
+
+    public ReservoirSampler<T> merge(ReservoirSampler<T> other) {
+        reservoir.mergeFrom(other.reservoir);
+        seen += other.seen;
+        if (reservoir.isFull()) {
+            scheduleNextReplacement();
+        }
+        return this;
+    }
+
+    public long seen() {
+        return seen;
+    }
+
+    public List<T> sample() {
+        return reservoir.itemsByKey();
+    }
+
+    private void scheduleNextReplacement() {
+        double threshold = reservoir.maxKey();
+        double skip = Math.floor(Math.log(uniform()) / Math.log1p(-threshold));
+        nextReplacement = skip >= Long.MAX_VALUE - seen ? Long.MAX_VALUE : seen + (long) skip;
+    }
+
+    private double uniform() {
+        return 1.0 - random.nextDouble();
+    }
+}
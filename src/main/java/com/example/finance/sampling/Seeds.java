@@ -0,0 +1,13 @@
+package com.example.finance.sampling;
+
+public final class Seeds {
+    private Seeds() {
+    }
+
+    public static long derive(long seed, long salt) {
+        long mixed = seed + 0x9E3779B97F4A7C15L * (salt + 1);
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+}
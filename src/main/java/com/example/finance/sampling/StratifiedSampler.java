@@ -0,0 +1,46 @@
+package com.example.finance.sampling;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Keeps an independent {@link ReservoirSampler} per stratum. Each stratum's seed is
+ * derived from the base seed and the stratum's string form, so results do not depend
+ * on the order in which strata first appear.
+ */
+public final class StratifiedSampler<K, T> {
+    private final Function<T, K> stratum;
+    private final int sizePerStratum;
+    private final long seed;
+    private final Map<K, ReservoirSampler<T>> samplers = new LinkedHashMap<>();
+
+    public StratifiedSampler(Function<T, K> stratum, int sizePerStratum, long seed) {
+        this.stratum = stratum;
+        this.sizePerStratum = sizePerStratum;
+        this.seed = seed;
+    }
+
+    public void accept(T item) {
+        samplers.computeIfAbsent(stratum.apply(item), this::newSampler).accept(item);
+    }
+
+    public StratifiedSampler<K, T> merge(StratifiedSampler<K, T> other) {
+        other.samplers.forEach((key, sampler) -> samplers.merge(key, sampler, ReservoirSampler::merge));
+        return this;
+    }
+
+    public Map<K, List<T>> sample() {
+        Map<String, K> ordered = new TreeMap<>();
+        samplers.keySet().forEach(key -> ordered.put(String.valueOf(key), key));
+        Map<K, List<T>> result = new LinkedHashMap<>();
+        ordered.values().forEach(key -> result.put(key, samplers.get(key).sample()));
+        return result;
+    }
+
+    private ReservoirSampler<T> newSampler(K key) {
+        return new ReservoirSampler<>(sizePerStratum, Seeds.derive(seed, String.valueOf(key).hashCode()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.finance.sampling;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted sampling without replacement (Efraimidis-Spirakis with exponential jumps).
+ * Each item's key is Exp(weight); the reservoir keeps the smallest keys, and instead of
+ * drawing a key per item the sampler jumps over an exponentially distributed amount
+ * of cumulative weight.
+ */
+public final class WeightedReservoirSampler<T> {
+    private final KeyedReservoir<T> reservoir;
+    private final SplittableRandom random;
+    private long seen;
+    private double weightToSkip;
+
+    public WeightedReservoirSampler(int size, long seed) {
+        this.reservoir = new KeyedReservoir<>(size);
+        this.random = new SplittableRandom(seed);
+    }
+
+    public void accept(T item, double weight) {
+        seen++;
+        if (!(weight > 0)) {
+            return;
+        }
+        if (!reservoir.isFull()) {
+            reservoir.offer(-Math.log(uniform()) / weight, item);
+            if (reservoir.isFull()) {
+                scheduleNextJump();
+            }
+            return;
+        }
+        weightToSkip -= weight;
+        if (weightToSkip <= 0) {
+            double floor = Math.exp(-weight * reservoir.maxKey());
+            double key = -Math.log(floor + (1 - floor) * uniform()) / weight;
+            reservoir.replaceMax(key, item);
+            scheduleNextJump();
+        }
+    }
+
+    public WeightedReservoirSampler<T> merge(WeightedReservoirSampler<T> other) {
+        reservoir.mergeFrom(other.reservoir);
+        seen += other.seen;
+        if (reservoir.isFull()) {
+            scheduleNextJump();
+        }
+        return this;
+    }
+
+    public long seen() {
+        return seen;
+    }
+
+    public List<T> sample() {
+        return reservoir.itemsByKey();
+    }
+
+    private void scheduleNextJump() {
+        weightToSkip = -Math.log(uniform()) / reservoir.maxKey();
+    }
+
+    private double uniform() {
+        return 1.0 - random.nextDouble();
+    }
+}
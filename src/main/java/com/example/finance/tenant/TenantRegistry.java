@@ -0,0 +1,80 @@
+package com.example.finance.tenant;
+
+import com.example.finance.audit.AuditLog;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+public final class TenantRegistry {
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final int MIN_ROLES_CAPACITY = 10;
+
+    private final AuditLog auditLog;
+    private final Map<String, TenantWorkspace> workspaces = new ConcurrentHashMap<>();
+
+    public TenantRegistry(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    public TenantWorkspace open(String tenantId, long budgetBytes, int rolesCapacity) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Tenant memory budget must be positive: " + budgetBytes);
+        }
+        return workspaces.computeIfAbsent(tenantId, id -> {
+            auditLog.record("tenant.open", id + " budget=" + budgetBytes);
+            return new TenantWorkspace(id, budgetBytes, rolesCapacity, auditLog);
+        });
+    }
+
+    /**
+     * Opens a tenant whose principals and roles come from {@code <rolesDir>/<tenantId>.roles}, a
+     * properties file of {@code principal=Role Name} lines. Principals missing from the file, or a
+     * missing file, get no role and are denied every dataset.
+     */
+    public TenantWorkspace open(String tenantId, long budgetBytes, Path rolesDir) {
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenantId);
+        }
+        Properties roles = new Properties();
+        Path rolesFile = rolesDir.resolve(tenantId + ".roles");
+        if (Files.exists(rolesFile)) {
+            try (Reader reader = Files.newBufferedReader(rolesFile, StandardCharsets.UTF_8)) {
+                roles.load(reader);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to read tenant roles " + rolesFile, ex);
+            }
+        } else {
+            auditLog.record("tenant.roles.missing", tenantId + " file=" + rolesFile.toAbsolutePath());
+        }
+        TenantWorkspace workspace = open(tenantId, budgetBytes, Math.max(MIN_ROLES_CAPACITY, roles.size()));
+        roles.stringPropertyNames().forEach(principal ->
+                workspace.roles().set(principal, roles.getProperty(principal).trim()));
+        return workspace;
+    }
+
+    public TenantWorkspace workspace(String tenantId) {
+        TenantWorkspace workspace = workspaces.get(tenantId);
+        if (workspace == null) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        }
+        return workspace;
+    }
+
+    public void close(String tenantId) {
+        if (workspaces.remove(tenantId) != null) {
+            auditLog.record("tenant.close", tenantId);
+        }
+    }
+
+    public long residentBytes() {
+        return workspaces.values().stream().mapToLong(TenantWorkspace::residentBytes).sum();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.finance.tenant;
+
+import com.example.finance.analysis.FinancialDataFrame;
+import com.example.finance.audit.AuditLog;
+import com.example.finance.util.RolesCache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Frames and roles owned by a single tenant. Frames are only reachable through
+ * {@link #frame(String, String)}, which checks the caller's role against the dataset's
+ * allowed roles and keeps resident frames within the tenant's memory budget by
+ * evicting the least recently used ones; evicted frames are reloaded on next access.
+ * The budget is enforced against each dataset's size estimate before its loader runs,
+ * and again against the measured frame size once it is loaded.
+ */
+public final class TenantWorkspace {
+    private final String tenantId;
+    private final long budgetBytes;
+    private final RolesCache roles;
+    private final AuditLog auditLog;
+    private final Map<String, Dataset> datasets = new HashMap<>();
+    private final Map<String, FinancialDataFrame> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> residentSizes = new HashMap<>();
+    private long residentBytes;
+
+    TenantWorkspace(String tenantId, long budgetBytes, int rolesCapacity, AuditLog auditLog) {
+        this.tenantId = tenantId;
+        this.budgetBytes = budgetBytes;
+        this.roles = new RolesCache(rolesCapacity, auditLog);
+        this.auditLog = auditLog;
+    }
+
+    public String tenantId() {
+        return tenantId;
+    }
+
+    public RolesCache roles() {
+        return roles;
+    }
+
+    public synchronized long residentBytes() {
+        return residentBytes;
+    }
+
+    public synchronized void register(String dataset, Set<String> allowedRoles, LongSupplier sizeEstimate,
+                                      Supplier<FinancialDataFrame> loader) {
+        datasets.put(dataset, new Dataset(Set.copyOf(allowedRoles), sizeEstimate, loader));
+    }
+
+    public synchronized FinancialDataFrame frame(String dataset, String principal) {
+        Dataset registered = datasets.get(dataset);
+        if (registered == null) {
+            throw new IllegalArgumentException("Tenant " + tenantId + " has no dataset " + dataset);
+        }
+        authorize(dataset, registered, principal);
+
+        FinancialDataFrame frame = resident.get(dataset);
+        if (frame != null) {
+            return frame;
+        }
+        long estimate = registered.sizeEstimate().getAsLong();
+        requireWithinBudget(dataset, estimate);
+        evictUntilFits(estimate);
+
+        frame = registered.loader().get();
+        long bytes = frame.estimatedBytes();
+        requireWithinBudget(dataset, bytes);
+        evictUntilFits(bytes);
+        resident.put(dataset, frame);
+        residentSizes.put(dataset, bytes);
+        residentBytes += bytes;
+        auditLog.record("tenant.frame.load", tenantId + "/" + dataset + " bytes=" + bytes);
+        return frame;
+    }
+
+    public synchronized void evict(String dataset) {
+        if (resident.remove(dataset) != null) {
+            residentBytes -= residentSizes.remove(dataset);
+            auditLog.record("tenant.frame.evict", tenantId + "/" + dataset);
+        }
+    }
+
+    private void authorize(String dataset, Dataset registered, String principal) {
+        String role = roles.get(principal).orElse(null);
+        if (role == null || !registered.allowedRoles().contains(role)) {
+            auditLog.record("tenant.access.denied", tenantId + "/" + dataset + " principal=" + principal);
+            throw new SecurityException(role == null
+                    ? "Principal " + principal + " has no role in tenant " + tenantId
+                    : "Principal " + principal + " may not read " + tenantId + "/" + dataset);
+        }
+        auditLog.record("tenant.access.granted", tenantId + "/" + dataset + " principal=" + principal);
+    }
+
+    private void requireWithinBudget(String dataset, long bytes) {
+        if (bytes > budgetBytes) {
+            auditLog.record("tenant.frame.rejected", tenantId + "/" + dataset + " bytes=" + bytes);
+            throw new IllegalStateException(String.format(
+                    "Dataset %s needs ~%d bytes, over tenant %s budget of %d bytes",
+                    dataset, bytes, tenantId, budgetBytes));
+        }
+    }
+
+    private void evictUntilFits(long bytes) {
+        Iterator<String> leastRecentlyUsed = resident.keySet().iterator();
+        while (residentBytes + bytes > budgetBytes && leastRecentlyUsed.hasNext()) {
+            String dataset = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            residentBytes -= residentSizes.remove(dataset);
+            auditLog.record("tenant.frame.evict", tenantId + "/" + dataset);
+        }
+    }
+
+    private record Dataset(Set<String> allowedRoles, LongSupplier sizeEstimate,
+                           Supplier<FinancialDataFrame> loader) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.finance.util;
+
+import com.example.finance.model.Transaction;
+
+import java.util.Locale;
+
+/**
+ * Allocation-light replacements for the {@code %-Ns}, {@code %Ns} and {@code %N.2f}
+ * conversions used on per-row output paths. Like every report, output is in
+ * {@link Locale#ROOT} ('.' decimal separator, no grouping). Values of 1e8 or more and
+ * values whose two-decimal rounding is within a few ulps of a half cent fall back to
+ * {@link String#format} so output stays identical.
+ */
+public final class FixedWidth {
+    // Cents, i.e. 1e8 in value terms; above this the scaled value keeps too few fraction bits.
+    private static final double MAX_FAST_SCALED = 1e10;
+    private static final double HALF_CENT_TOLERANCE = 1e-6;
+
+    private FixedWidth() {
+    }
+
+    public static StringBuilder padRight(StringBuilder builder, String value, int width) {
+        builder.append(value);
+        for (int i = value.length(); i < width; i++) {
+            builder.append(' ');
+        }
+        return builder;
+    }
+
+    public static StringBuilder decimal2(StringBuilder builder, double value) {
+        double scaled = Math.abs(value) * 100;
+        double fraction = scaled - Math.floor(scaled);
+        long cents = Math.round(scaled);
+        double tolerance = Math.max(HALF_CENT_TOLERANCE, 8 * Math.ulp(scaled));
+        if (Double.isNaN(value) || scaled >= MAX_FAST_SCALED || Math.abs(fraction - 0.5) < tolerance
+                || (value < 0 && cents == 0)) {
+            return builder.append(String.format(Locale.ROOT, "%.2f", value));
+        }
+        if (value < 0) {
+            builder.append('-');
+        }
+        builder.append(cents / 100).append('.');
+        long remainder = cents % 100;
+        if (remainder < 10) {
+            builder.append('0');
+        }
+        return builder.append(remainder);
+    }
+
+    public static StringBuilder decimal2(StringBuilder builder, double value, int width) {
+        int start = builder.length();
+        decimal2(builder, value);
+        int padding = width - (builder.length() - start);
+        if (padding > 0) {
+            builder.insert(start, " ".repeat(padding));
+        }
+        return builder;
+    }
+
+    public static StringBuilder transaction(StringBuilder builder, Transaction transaction) {
+        builder.append(transaction.date()).append(" | ");
+        padRight(builder, transaction.category(), 15).append(" | ");
+        padRight(builder, transaction.description(), 12).append(" | ");
+        padRight(builder, transaction.type().name(), 6).append(" | ");
+        decimal2(builder, transaction.amount(), 8).append(" | ");
+        decimal2(builder, transaction.balance(), 10).append(" | ");
+        return builder.append(transaction.destination());
+    }
+}
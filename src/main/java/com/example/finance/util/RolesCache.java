@@ -1,5 +1,7 @@
 package com.example.finance.util;
 
+import com.example.finance.audit.AuditLog;
+
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -7,9 +9,15 @@ import java.util.Optional;
 public class RolesCache {
     private final int capacity;
     private final Map<String, String> cache;
+    private final AuditLog auditLog;
 
     public RolesCache(int capacity) {
+        this(capacity, AuditLog.disabled());
+    }
+
+    public RolesCache(int capacity, AuditLog auditLog) {
         this.capacity = capacity;
+        this.auditLog = auditLog;
         this.cache = new LinkedHashMap<>(capacity, 0.75f, true) {
             @Override
             protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
@@ -18,11 +26,14 @@ public class RolesCache {
         };
     }
 
-    public void set(String key, String value) {
+    public synchronized void set(String key, String value) {
         cache.put(key, value);
+        auditLog.record("role.set", key);
     }
 
-    public Optional<String> get(String key) {
-        return Optional.ofNullable(cache.get(key));
+    public synchronized Optional<String> get(String key) {
+        String value = cache.get(key);
+        auditLog.record(value != null ? "role.lookup.hit" : "role.lookup.miss", key);
+        return Optional.ofNullable(value);
     }
 }
@@ -0,0 +1,107 @@
+package com.example.finance.analysis;
+
+import com.example.finance.model.Transaction;
+import com.example.finance.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceValidatorTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 2);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void interleavedAccountsAreSeparateChains(int threads) {
+        BalanceCheck check = validate(threads, validator -> {
+            validator.accept(2, "checking", debit(10.00, 90.00));
+            validator.accept(3, "savings", credit(50.00, 550.00));
+            validator.accept(4, "checking", debit(5.00, 85.00));
+            validator.accept(5, "savings", credit(25.00, 575.00));
+        });
+
+        assertEquals(4, check.rowsChecked());
+        assertEquals(0, check.mismatchCount());
+        assertTrue(check.mismatches().isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void brokenLinkIsReportedForItsOwnAccountAndLine(int threads) {
+        BalanceCheck check = validate(threads, validator -> {
+            validator.accept(2, "checking", debit(10.00, 90.00));
+            validator.accept(3, "savings", credit(50.00, 550.00));
+            validator.accept(4, "checking", debit(5.00, 80.00));
+            validator.accept(5, "savings", credit(25.00, 575.00));
+            validator.accept(6, "checking", debit(5.00, 75.00));
+        });
+
+        assertEquals(1, check.mismatchCount());
+        BalanceMismatch mismatch = check.mismatches().get(0);
+        assertEquals(4, mismatch.lineNumber());
+        assertEquals("checking", mismatch.account());
+        assertEquals(85.00, mismatch.expectedBalance(), 1e-9);
+        assertEquals(80.00, mismatch.actualBalance(), 1e-9);
+    }
+
+    @Test
+    void singleChainOverSeveralAccountsCountsEveryMismatchButKeepsTheFirstOnes() {
+        int rows = 20_000;
+        BalanceCheck check = validate(4, validator -> {
+            for (int row = 0; row < rows; row++) {
+                // Two accounts written to one chain: every row after the first breaks the link.
+                validator.accept(row + 2L, "ledger", credit(1.00, row % 2 == 0 ? 100.00 : 900.00));
+            }
+        });
+
+        assertEquals(rows, check.rowsChecked());
+        assertEquals(rows - 1, check.mismatchCount());
+        List<BalanceMismatch> mismatches = check.mismatches();
+        assertEquals(BalanceValidator.MAX_RETAINED_MISMATCHES, mismatches.size());
+        assertEquals(3, mismatches.get(0).lineNumber());
+        assertEquals(BalanceValidator.MAX_RETAINED_MISMATCHES + 2L,
+                mismatches.get(mismatches.size() - 1).lineNumber());
+    }
+
+    @Test
+    void shardedRunMatchesSingleThreadedRun() {
+        Consumer<BalanceValidator> rows = validator -> {
+            double[] balances = new double[16];
+            for (int row = 0; row < 50_000; row++) {
+                int account = row % balances.length;
+                balances[account] -= 1.00;
+                // Every 997th row prints a balance one cent off the true chain.
+                double printed = row % 997 == 0 ? balances[account] + 0.01 : balances[account];
+                validator.accept(row + 2L, "acct-" + account, debit(1.00, printed));
+            }
+        };
+
+        BalanceCheck serial = validate(1, rows);
+        BalanceCheck sharded = validate(4, rows);
+
+        assertEquals(serial.rowsChecked(), sharded.rowsChecked());
+        assertEquals(serial.mismatchCount(), sharded.mismatchCount());
+        assertEquals(serial.mismatches(), sharded.mismatches());
+    }
+
+    private static BalanceCheck validate(int threads, Consumer<BalanceValidator> rows) {
+        try (BalanceValidator validator = new BalanceValidator(threads)) {
+            rows.accept(validator);
+            return validator.finish();
+        }
+    }
+
+    private static Transaction debit(double amount, double balance) {
+        return new Transaction(DAY, "Payment", "Other", TransactionType.DEBIT, amount, balance, "Shop", "USD");
+    }
+
+    private static Transaction credit(double amount, double balance) {
+        return new Transaction(DAY, "Deposit", "Income", TransactionType.CREDIT, amount, balance, "Employer", "USD");
+    }
+}